@@ -0,0 +1,42 @@
+package GpuIndex.App.benchmark;
+
+import GpuIndex.App.config.AppMetrics;
+import GpuIndex.App.model.Gpu;
+import GpuIndex.App.service.DbService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Catálogo cargado en un DbService real. El tamaño se cambia con {@code -p catalogSize=...}
+ * (número de GPUs del JSON, antes del filtro por fecha).
+ */
+@State(Scope.Benchmark)
+public class CatalogState {
+
+    @Param({"1000", "10000", "100000"})
+    public int catalogSize;
+
+    public byte[] catalogJson;
+    public AppMetrics metrics;
+    public DbService dbService;
+    public List<Gpu> catalog;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        catalogJson = SyntheticCatalog.generateJson(catalogSize);
+        metrics = new AppMetrics(new SimpleMeterRegistry());
+        dbService = new DbService();
+        ReflectionTestUtils.setField(dbService, "metrics", metrics);
+        dbService.loadGpuDatabase(new ByteArrayInputStream(catalogJson));
+        catalog = dbService.getCatalog();
+    }
+}
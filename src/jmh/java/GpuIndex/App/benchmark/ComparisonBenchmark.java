@@ -0,0 +1,72 @@
+package GpuIndex.App.benchmark;
+
+import GpuIndex.App.service.GpuComparisonService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparación de dos GPUs con y sin la caché de pares. Con {@code -prof gc} se ve la memoria
+ * asignada por operación (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComparisonBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Comparison {
+        GpuComparisonService uncached;
+        GpuComparisonService cached;
+        String first;
+        String second;
+
+        @Setup(Level.Trial)
+        public void setUp(CatalogState state) {
+            uncached = service(state, null);
+            cached = service(state, new CaffeineCacheManager("gpuComparisons"));
+            first = state.catalog.get(0).getName();
+            second = state.catalog.get(state.catalog.size() / 2).getName();
+        }
+
+        private static GpuComparisonService service(CatalogState state, CaffeineCacheManager cacheManager) {
+            GpuComparisonService service = new GpuComparisonService();
+            ReflectionTestUtils.setField(service, "dbService", state.dbService);
+            ReflectionTestUtils.setField(service, "metrics", state.metrics);
+            ReflectionTestUtils.setField(service, "cacheManager", cacheManager);
+            return service;
+        }
+    }
+
+    // Formatea las celdas en cada llamada
+    @Benchmark
+    public String compareGpus(Comparison comparison) {
+        return comparison.uncached.compareGpus(comparison.first, comparison.second);
+    }
+
+    // Par ya en caché: solo la búsqueda de ids y componer el texto
+    @Benchmark
+    public String compareGpusCached(Comparison comparison) {
+        return comparison.cached.compareGpus(comparison.first, comparison.second);
+    }
+
+    // El mismo par al revés acierta en la misma entrada
+    @Benchmark
+    public String compareGpusCachedSwapped(Comparison comparison) {
+        return comparison.cached.compareGpus(comparison.second, comparison.first);
+    }
+}
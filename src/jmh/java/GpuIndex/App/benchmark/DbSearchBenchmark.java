@@ -0,0 +1,113 @@
+package GpuIndex.App.benchmark;
+
+import GpuIndex.App.repository.GpuFullTextIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda en gpus.db: el LIKE con el que se buscaba antes del índice (recorre la tabla pasando cada
+ * nombre a minúsculas) frente al índice FTS5 de GpuRepository.searchRanked. Sobre JDBC directo, sin Hibernate, para medir
+ * solo la consulta.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DbSearchBenchmark {
+
+    private static final String LIKE = "SELECT * FROM gpu WHERE LOWER(name) LIKE LOWER('%' || ? || '%')";
+    private static final String FTS = "SELECT g.* FROM gpu_fts JOIN gpu g ON g.rowid = gpu_fts.rowid "
+            + "WHERE gpu_fts MATCH ? ORDER BY bm25(gpu_fts, 10.0, 1.0) LIMIT 100";
+
+    @State(Scope.Benchmark)
+    public static class Database {
+        @Param({"100000", "1000000"})
+        int rows;
+
+        Path file;
+        SingleConnectionDataSource dataSource;
+        JdbcTemplate jdbc;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException, SQLException {
+            file = Files.createTempFile("gpus-bench", ".db");
+            dataSource = new SingleConnectionDataSource("jdbc:sqlite:" + file, true);
+            jdbc = new JdbcTemplate(dataSource);
+            jdbc.execute("CREATE TABLE gpu (id varchar(255) not null, name varchar(255), "
+                    + "manufacturer varchar(255), primary key (id))");
+
+            Connection connection = dataSource.getConnection();
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO gpu VALUES (?, ?, ?)")) {
+                SyntheticCatalog.generate(rows, gpu -> {
+                    try {
+                        insert.setString(1, gpu.getId());
+                        insert.setString(2, gpu.getName());
+                        insert.setString(3, gpu.getManufacturer());
+                        insert.executeUpdate();
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+
+            GpuFullTextIndex index = new GpuFullTextIndex();
+            ReflectionTestUtils.setField(index, "jdbc", jdbc);
+            index.ensureIndex();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            dataSource.destroy();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Pocas coincidencias
+    @Benchmark
+    public List<?> likeSelective(Database db) {
+        return db.jdbc.queryForList(LIKE, "rtx 4050 ti");
+    }
+
+    @Benchmark
+    public List<?> ftsSelective(Database db) {
+        return db.jdbc.queryForList(FTS, GpuFullTextIndex.matchQuery("rtx 4050 ti"));
+    }
+
+    // Muchas coincidencias (LIKE las devuelve todas; FTS, las 100 más relevantes)
+    @Benchmark
+    public List<?> likeBroad(Database db) {
+        return db.jdbc.queryForList(LIKE, "radeon rx");
+    }
+
+    @Benchmark
+    public List<?> ftsBroad(Database db) {
+        return db.jdbc.queryForList(FTS, GpuFullTextIndex.matchQuery("radeon rx"));
+    }
+}
@@ -0,0 +1,66 @@
+package GpuIndex.App.benchmark;
+
+import GpuIndex.App.model.Gpu;
+import GpuIndex.App.service.AdvancedListManager;
+import GpuIndex.App.session.UserSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exportación de la lista activa. Se ejecuta con el directorio de trabajo en target/jmh,
+ * así que las listas y los ficheros exportados quedan ahí.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExportBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ListState {
+        AdvancedListManager listManager;
+        final UserSession session = new UserSession("bench");
+
+        @Setup(Level.Trial)
+        public void setUp(CatalogState state) throws IOException {
+            listManager = new AdvancedListManager();
+            ReflectionTestUtils.setField(listManager, "dbService", state.dbService);
+            ReflectionTestUtils.setField(listManager, "metrics", state.metrics);
+            listManager.init();
+
+            String listName = "bench-" + state.catalogSize;
+            listManager.deleteList(session, listName);
+            listManager.createList(session, listName);
+            for (Gpu gpu : state.catalog) {
+                if (!listManager.canAddMore(session)) {
+                    break;
+                }
+                listManager.addToCurrentList(session, gpu.getName());
+            }
+        }
+    }
+
+    @Benchmark
+    public String exportJson(ListState list) throws IOException {
+        return list.listManager.saveList(list.session, "json", "export-bench.json");
+    }
+
+    @Benchmark
+    public String exportXlsx(ListState list) throws IOException {
+        return list.listManager.saveList(list.session, "xlsx", "export-bench.xlsx");
+    }
+}
@@ -0,0 +1,30 @@
+package GpuIndex.App.benchmark;
+
+import GpuIndex.App.service.DbService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LoadBenchmark {
+
+    // Parseo, filtro por fecha, orden y construcción de todos los índices
+    @Benchmark
+    public DbService loadGpuDatabase(CatalogState state) throws IOException {
+        DbService dbService = new DbService();
+        dbService.loadGpuDatabase(new ByteArrayInputStream(state.catalogJson));
+        return dbService;
+    }
+}
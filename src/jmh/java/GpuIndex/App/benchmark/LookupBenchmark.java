@@ -0,0 +1,46 @@
+package GpuIndex.App.benchmark;
+
+import GpuIndex.App.model.Gpu;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+    @State(Scope.Thread)
+    public static class Names {
+        String[] names;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(CatalogState state) {
+            // Nombres en minúsculas para que también cuente el plegado de mayúsculas
+            names = new String[1024];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = state.catalog.get(i % state.catalog.size()).getName().toLowerCase();
+            }
+        }
+    }
+
+    @Benchmark
+    public Gpu getGpuDetails(CatalogState state, Names names) throws IOException {
+        String name = names.names[names.next++ & (names.names.length - 1)];
+        return state.dbService.getGpuDetails(name);
+    }
+}
@@ -0,0 +1,67 @@
+package GpuIndex.App.benchmark;
+
+import GpuIndex.App.service.DbService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final String BROAD = "radeon rx";
+
+    // Cursor de la página 20 de una búsqueda amplia, recorriendo las anteriores una vez
+    @State(Scope.Benchmark)
+    public static class DeepCursor {
+        String cursor;
+
+        @Setup(Level.Trial)
+        public void setUp(CatalogState state) {
+            DbService.SearchPage page = state.dbService.searchPage(BROAD, null, 30);
+            for (int i = 1; i < 20 && page.hasMore(); i++) {
+                cursor = page.nextCursor();
+                page = state.dbService.searchPage(BROAD, cursor, 30);
+            }
+        }
+    }
+
+    // Pocas coincidencias
+    @Benchmark
+    public List<Map<String, String>> selective(CatalogState state) {
+        return state.dbService.searchGpuResults("rtx 4050 ti");
+    }
+
+    // Muchas coincidencias: solo se devuelven las 30 primeras
+    @Benchmark
+    public List<Map<String, String>> broad(CatalogState state) {
+        return state.dbService.searchGpuResults(BROAD);
+    }
+
+    // Página 20 de la misma búsqueda amplia
+    @Benchmark
+    public DbService.SearchPage deepPage(CatalogState state, DeepCursor deep) {
+        return state.dbService.searchPage(BROAD, deep.cursor, 30);
+    }
+
+    // Consulta bloqueada por demasiado general
+    @Benchmark
+    public List<Map<String, String>> blocked(CatalogState state) {
+        return state.dbService.searchGpuResults("nvidia");
+    }
+}
@@ -0,0 +1,65 @@
+package GpuIndex.App.benchmark;
+
+import GpuIndex.App.catalog.GpuColumns;
+import GpuIndex.App.catalog.GpuSimilarityIndex;
+import GpuIndex.App.service.DbService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "GPUs parecidas": la consulta al kd-tree por cada GPU del catálogo (rotando para no medir siempre
+ * la misma rama) y, aparte, lo que cuesta construir el índice al publicar un catálogo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimilarityBenchmark {
+
+    @State(Scope.Thread)
+    public static class Queries {
+        String[] names;
+        GpuColumns columns;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(CatalogState state) {
+            names = new String[Math.min(state.catalog.size(), 1024)];
+            int step = Math.max(1, state.catalog.size() / names.length);
+            for (int i = 0; i < names.length; i++) {
+                names[i] = state.catalog.get(i * step).getName();
+            }
+            columns = state.dbService.getSnapshot().columns();
+        }
+
+        String nextName() {
+            if (next == names.length) {
+                next = 0;
+            }
+            return names[next++];
+        }
+    }
+
+    @Benchmark
+    public DbService.SimilarGpus findSimilar(CatalogState state, Queries queries) throws IOException {
+        return state.dbService.findSimilar(queries.nextName(), 10);
+    }
+
+    @Benchmark
+    public GpuSimilarityIndex buildIndex(Queries queries) {
+        return GpuSimilarityIndex.build(queries.columns);
+    }
+}
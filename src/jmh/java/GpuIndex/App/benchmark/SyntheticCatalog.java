@@ -0,0 +1,96 @@
+package GpuIndex.App.benchmark;
+
+import GpuIndex.App.model.Gpu;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Catálogo sintético y determinista (misma semilla, mismo catálogo) para que los resultados de los
+ * benchmarks se puedan comparar entre versiones. Una cuarta parte de las GPUs es anterior a 2013,
+ * como en el fichero real, para que el filtro de carga tenga trabajo.
+ */
+public final class SyntheticCatalog {
+
+    private static final String[][] SERIES = {
+            {"NVIDIA", "GeForce RTX", "Ada Lovelace"},
+            {"NVIDIA", "GeForce GTX", "Turing"},
+            {"NVIDIA", "Quadro RTX", "Turing"},
+            {"AMD", "Radeon RX", "RDNA 3"},
+            {"AMD", "Radeon Pro", "RDNA 2"},
+            {"Intel", "Arc A", "Alchemist"}
+    };
+    private static final String[] SUFFIXES = {"", " Ti", " SUPER", " XT", " XTX", " Mobile", " Max-Q", " OEM"};
+    private static final String[] MEMORY_TYPES = {"GDDR5", "GDDR6", "GDDR6X", "HBM2"};
+
+    private SyntheticCatalog() {
+    }
+
+    public static List<Gpu> generate(int size) {
+        List<Gpu> gpus = new ArrayList<>(size);
+        generate(size, gpus::add);
+        return gpus;
+    }
+
+    // Las mismas GPUs que generate(size), de una en una, para tablas que no caben en memoria como lista
+    public static void generate(int size, Consumer<Gpu> sink) {
+        Random random = new Random(20130101L);
+        Set<String> names = new HashSet<>();
+
+        for (int i = 0; i < size; i++) {
+            String[] series = SERIES[random.nextInt(SERIES.length)];
+            String name = series[1] + " " + (1000 + random.nextInt(90) * 100 + random.nextInt(2) * 50)
+                    + SUFFIXES[random.nextInt(SUFFIXES.length)];
+            if (!names.add(name)) {
+                name = name + " Rev " + i;
+                names.add(name);
+            }
+
+            Gpu gpu = new Gpu();
+            gpu.setId(Integer.toString(i));
+            gpu.setName(name);
+            gpu.setManufacturer(series[0]);
+            gpu.setArchitecture(series[2]);
+            gpu.setGeneration(series[1]);
+            gpu.setFoundry("TSMC");
+            gpu.setReleaseDate(String.format("%d-%02d-%02d", random.nextInt(4) == 0 ? 2008 + random.nextInt(5) : 2013 + random.nextInt(12),
+                    1 + random.nextInt(12), 1 + random.nextInt(28)));
+            gpu.setProcessSizeNm(new int[]{4, 5, 7, 8, 12, 16, 28}[random.nextInt(7)]);
+            gpu.setTransistorCountM(2000.0 + random.nextInt(70000));
+            gpu.setDieSizeMm2(100.0 + random.nextInt(600));
+            gpu.setBaseClock(900 + random.nextInt(1500));
+            gpu.setBoostClock(gpu.getBaseClock() + random.nextInt(800));
+            gpu.setMemoryClockMhz(1000.0 + random.nextInt(1500));
+            gpu.setMemorySize(new double[]{2, 4, 6, 8, 10, 12, 16, 20, 24, 48}[random.nextInt(10)]);
+            gpu.setMemoryBus(new int[]{64, 128, 192, 256, 320, 384, 4096}[random.nextInt(7)]);
+            gpu.setMemoryType(MEMORY_TYPES[random.nextInt(MEMORY_TYPES.length)]);
+            gpu.setBandwidth(64.0 + random.nextInt(1000));
+            gpu.setShadingUnits(256 * (1 + random.nextInt(64)));
+            gpu.setTextureMappingUnits(16 * (1 + random.nextInt(40)));
+            gpu.setRenderOutputProcessors(8 * (1 + random.nextInt(24)));
+            gpu.setStreamingMultiprocessors(4 * (1 + random.nextInt(36)));
+            gpu.setTensorCores(random.nextBoolean() ? 4 * random.nextInt(150) : null);
+            gpu.setRayTracingCores(random.nextBoolean() ? random.nextInt(150) : null);
+            gpu.setL1CacheKb(64.0 + random.nextInt(128));
+            gpu.setL2CacheMb(0.5 + random.nextInt(96));
+            gpu.setTdp((30 + random.nextInt(420)) + " W");
+            gpu.setSuggestedPsu((300 + 50 * random.nextInt(16)) + " W");
+            gpu.setBoardLengthMm(150.0 + random.nextInt(200));
+            gpu.setBoardSlotWidth(random.nextBoolean() ? "Dual-slot" : "Triple-slot");
+            gpu.setPowerConnectors(random.nextBoolean() ? "1x 8-pin" : "1x 16-pin");
+            gpu.setDisplayConnectors("1x HDMI 2.1, 3x DisplayPort 1.4a");
+            gpu.setSingleFloatPerformanceGflopS(1000.0 + random.nextInt(80000));
+            sink.accept(gpu);
+        }
+    }
+
+    public static byte[] generateJson(int size) throws IOException {
+        return new ObjectMapper().writeValueAsBytes(generate(size));
+    }
+}
@@ -0,0 +1,113 @@
+package GpuIndex.App.catalog;
+
+import GpuIndex.App.model.Gpu;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Catálogo inmutable con todos sus índices. Se construye entero fuera del camino de las peticiones
+ * y se publica de una vez, así que quien lo lee nunca ve un catálogo a medio construir.
+ */
+public final class CatalogSnapshot {
+
+    private static final Comparator<Gpu> BY_NAME =
+            Comparator.comparing(Gpu::getName, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final long version;
+    private final String source;
+    private final Instant loadedAt;
+    private final List<Gpu> gpus;
+    private final GpuSearchIndex searchIndex;
+    private final GpuLookupIndex lookupIndex;
+    private final GpuColumns columns;
+    private final GpuSimilarityIndex similarityIndex;
+    private final GpuBinaryCatalog file;
+
+    private CatalogSnapshot(long version, String source, List<Gpu> gpus, GpuSearchIndex searchIndex,
+                            GpuLookupIndex lookupIndex, GpuColumns columns, GpuBinaryCatalog file) {
+        this.version = version;
+        this.source = source;
+        this.loadedAt = Instant.now();
+        this.gpus = gpus;
+        this.searchIndex = searchIndex;
+        this.lookupIndex = lookupIndex;
+        this.columns = columns;
+        this.similarityIndex = GpuSimilarityIndex.build(columns);
+        this.file = file;
+    }
+
+    /** Ordena una copia de las GPUs por nombre (los ids de los índices son esas posiciones) e indexa. */
+    public static CatalogSnapshot build(long version, String source, List<Gpu> gpus) {
+        List<Gpu> sorted = new ArrayList<>(gpus);
+        sorted.sort(BY_NAME);
+        List<String> names = sorted.stream().map(Gpu::getName).toList();
+        return new CatalogSnapshot(version, source, Collections.unmodifiableList(sorted),
+                GpuSearchIndex.build(names), GpuLookupIndex.build(names), GpuColumns.build(sorted), null);
+    }
+
+    /** Catálogo servido desde un fichero mapeado: el índice de búsqueda viene hecho y las GPUs se decodifican al pedirlas. */
+    public static CatalogSnapshot mapped(long version, GpuBinaryCatalog file) {
+        List<String> names = file.names();
+        return new CatalogSnapshot(version, file.path().toString(), file.gpus(),
+                file.searchIndex(names), GpuLookupIndex.build(names), file.columns(), file);
+    }
+
+    public static CatalogSnapshot empty() {
+        return build(0, "none", Collections.emptyList());
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public String source() {
+        return source;
+    }
+
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    public int size() {
+        return gpus.size();
+    }
+
+    public List<Gpu> gpus() {
+        return gpus;
+    }
+
+    public Gpu gpu(int id) {
+        return gpus.get(id);
+    }
+
+    /** GPU para recorridos de todo el catálogo: si está mapeado, no se queda decodificada en memoria. */
+    public Gpu scan(int id) {
+        return file != null ? file.read(id) : gpus.get(id);
+    }
+
+    /** Fichero compilado que sirve este catálogo, o null si se leyó del JSON. */
+    public Path mappedFile() {
+        return file != null ? file.path() : null;
+    }
+
+    public GpuSearchIndex searchIndex() {
+        return searchIndex;
+    }
+
+    public GpuLookupIndex lookupIndex() {
+        return lookupIndex;
+    }
+
+    public GpuColumns columns() {
+        return columns;
+    }
+
+    public GpuSimilarityIndex similarityIndex() {
+        return similarityIndex;
+    }
+}
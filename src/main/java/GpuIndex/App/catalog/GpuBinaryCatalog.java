@@ -0,0 +1,500 @@
+package GpuIndex.App.catalog;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import GpuIndex.App.model.Gpu;
+import GpuIndex.App.model.GpuFields;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Stream;
+
+/**
+ * Catálogo compilado a un fichero binario que se mapea en memoria (compilado con 'catalog compile').
+ * Las filas ya vienen filtradas y ordenadas por nombre, así que sus posiciones son los ids de los índices.
+ *
+ * <pre>
+ * cabecera     MAGIC, FORMAT_VERSION, filas, origen (tamaño y fecha del JSON, fecha de corte)
+ * diccionario  nº de cadenas, tabla de offsets (n + 1 enteros), bytes UTF-8
+ * campos       una columna de ancho fijo por campo de Gpu: id de cadena (-1 = null), int (MIN_VALUE = null)
+ *              o double (NaN = null)
+ * métricas     una columna double por {@link GpuMetric}, igual que en {@link GpuColumns}
+ * búsqueda     el {@link GpuSearchIndex} ya construido (tabla de trigramas y postings)
+ * directorio   posición del diccionario, del índice y nombre, tipo y posición de cada columna
+ * cola         posición del directorio, MAGIC
+ * </pre>
+ *
+ * Al mapearlo solo se leen los nombres y el índice de búsqueda; cada {@link Gpu} se decodifica la
+ * primera vez que se pide.
+ *
+ * <p>Un fichero mapeado no se sobrescribe nunca (en Windows ni siquiera se puede reemplazar): cada
+ * compilación escribe una generación nueva junto al fichero configurado ("gpu_database.bin",
+ * "gpu_database.1.bin", "gpu_database.2.bin"...) y se usa la más alta.
+ */
+public final class GpuBinaryCatalog {
+
+    private static final int MAGIC = 0x47505543; // "GPUC"
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_BYTES = 3 * Integer.BYTES + 2 * Long.BYTES;
+    private static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES;
+
+    private static final byte STRING = 1;
+    private static final byte INT = 2;
+    private static final byte DOUBLE = 3;
+    private static final int NULL_STRING = -1;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    /**
+     * JSON del que salió el fichero: tamaño, fecha de modificación (ms) y fecha de corte del filtro por
+     * lanzamiento. Si no coincide con el JSON actual, el fichero está desfasado.
+     */
+    public record Origin(long size, long lastModified, String cutoff) {
+    }
+
+    private record FieldCodec(String jsonName, byte type, MethodHandle setter) {
+    }
+
+    private record Column(byte type, int position) {
+    }
+
+    // Los setters se enlazan la primera vez que se decodifica o se escribe una GPU, no al mapear
+    private static final class Codecs {
+        private static final List<FieldCodec> FIELDS = new ArrayList<>();
+
+        static {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            for (Field field : Gpu.class.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                byte type = field.getType() == String.class ? STRING
+                        : field.getType() == Integer.class ? INT
+                        : field.getType() == Double.class ? DOUBLE
+                        : 0;
+                if (type == 0) {
+                    throw new IllegalStateException("Unsupported field type for " + field.getName());
+                }
+                JsonProperty property = field.getAnnotation(JsonProperty.class);
+                String jsonName = property != null ? property.value() : field.getName();
+                String setterName = "set" + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+                try {
+                    FIELDS.add(new FieldCodec(jsonName, type,
+                            lookup.unreflect(Gpu.class.getMethod(setterName, field.getType()))));
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Cannot bind setter " + setterName, e);
+                }
+            }
+        }
+    }
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final int rows;
+    private final Origin origin;
+    private final int dictionaryOffsets;
+    private final int dictionaryBytes;
+    private final int nameColumn;
+    private final int searchIndexPosition;
+    private final Map<String, Column> fieldColumns;
+    private final Map<String, Integer> metricColumns;
+    private final AtomicReferenceArray<Gpu> decoded;
+
+    private GpuBinaryCatalog(Path path, ByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        int limit = buffer.limit();
+        if (limit < HEADER_BYTES + TRAILER_BYTES || buffer.getInt(0) != MAGIC
+                || buffer.getInt(limit - Integer.BYTES) != MAGIC) {
+            throw new IOException("Not a GPU catalog snapshot: " + path);
+        }
+        if (buffer.getInt(Integer.BYTES) != FORMAT_VERSION) {
+            throw new IOException("Unsupported catalog snapshot version " + buffer.getInt(Integer.BYTES) + ": " + path);
+        }
+        this.rows = buffer.getInt(2 * Integer.BYTES);
+        this.origin = new Origin(buffer.getLong(3 * Integer.BYTES), buffer.getLong(3 * Integer.BYTES + Long.BYTES),
+                readName(buffer.duplicate().position(HEADER_BYTES)));
+
+        // Directorio
+        ByteBuffer directory = buffer.duplicate().position((int) buffer.getLong(limit - TRAILER_BYTES));
+        int dictionary = directory.getInt();
+        this.searchIndexPosition = directory.getInt();
+        this.dictionaryOffsets = dictionary + Integer.BYTES;
+        this.dictionaryBytes = dictionaryOffsets + (buffer.getInt(dictionary) + 1) * Integer.BYTES;
+
+        int fieldCount = directory.getInt();
+        this.fieldColumns = new HashMap<>(fieldCount * 2);
+        for (int i = 0; i < fieldCount; i++) {
+            String name = readName(directory);
+            byte type = directory.get();
+            fieldColumns.put(name, new Column(type, directory.getInt()));
+        }
+        int metricCount = directory.getInt();
+        this.metricColumns = new HashMap<>(metricCount * 2);
+        for (int i = 0; i < metricCount; i++) {
+            String name = readName(directory);
+            metricColumns.put(name, directory.getInt());
+        }
+
+        Column name = fieldColumns.get("name");
+        if (name == null || name.type() != STRING) {
+            throw new IOException("Catalog snapshot without names: " + path);
+        }
+        this.nameColumn = name.position();
+        this.decoded = new AtomicReferenceArray<>(rows);
+    }
+
+    /** Mapea el fichero en memoria de solo lectura; no se lee nada más que la cabecera y el directorio. */
+    public static GpuBinaryCatalog map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Catalog snapshot too large: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                return new GpuBinaryCatalog(path, buffer);
+            } catch (RuntimeException e) {
+                throw new IOException("Corrupt catalog snapshot: " + path, e);
+            }
+        }
+    }
+
+    /**
+     * Escribe el catálogo (GPUs en su orden, columnas e índice de búsqueda) leído de {@code origin}. Se
+     * escribe a un temporal y se renombra, así nunca queda a la vista un fichero a medias; para no pisar
+     * uno mapeado, {@code target} debe ser una generación nueva ({@link #nextGeneration}).
+     */
+    public static void write(CatalogSnapshot catalog, Origin origin, Path target) throws IOException {
+        List<Gpu> gpus = catalog.gpus();
+        GpuColumns columns = catalog.columns();
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (Gpu gpu : gpus) {
+            for (FieldCodec field : Codecs.FIELDS) {
+                if (field.type() == STRING && GpuFields.get(gpu, field.jsonName()) instanceof String value) {
+                    dictionary.putIfAbsent(value, dictionary.size());
+                }
+            }
+        }
+
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = parent.resolve(target.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(gpus.size());
+                out.writeLong(origin.size());
+                out.writeLong(origin.lastModified());
+                out.writeUTF(origin.cutoff());
+
+                int dictionaryPosition = out.size();
+                List<byte[]> encoded = new ArrayList<>(dictionary.size());
+                for (String value : dictionary.keySet()) {
+                    encoded.add(value.getBytes(StandardCharsets.UTF_8));
+                }
+                out.writeInt(encoded.size());
+                int offset = 0;
+                out.writeInt(offset);
+                for (byte[] bytes : encoded) {
+                    offset += bytes.length;
+                    out.writeInt(offset);
+                }
+                for (byte[] bytes : encoded) {
+                    out.write(bytes);
+                }
+
+                int[] fieldPositions = new int[Codecs.FIELDS.size()];
+                for (int f = 0; f < Codecs.FIELDS.size(); f++) {
+                    FieldCodec field = Codecs.FIELDS.get(f);
+                    fieldPositions[f] = out.size();
+                    for (Gpu gpu : gpus) {
+                        Object value = GpuFields.get(gpu, field.jsonName());
+                        switch (field.type()) {
+                            case STRING -> out.writeInt(value != null ? dictionary.get((String) value) : NULL_STRING);
+                            case INT -> out.writeInt(value != null ? (Integer) value : NULL_INT);
+                            default -> out.writeDouble(value != null ? (Double) value : Double.NaN);
+                        }
+                    }
+                }
+
+                GpuMetric[] metrics = GpuMetric.values();
+                int[] metricPositions = new int[metrics.length];
+                for (GpuMetric metric : metrics) {
+                    metricPositions[metric.ordinal()] = out.size();
+                    for (int row = 0; row < gpus.size(); row++) {
+                        out.writeDouble(columns.value(metric, row));
+                    }
+                }
+
+                int searchIndexPosition = out.size();
+                catalog.searchIndex().write(out);
+
+                int directoryPosition = out.size();
+                out.writeInt(dictionaryPosition);
+                out.writeInt(searchIndexPosition);
+                out.writeInt(Codecs.FIELDS.size());
+                for (int f = 0; f < Codecs.FIELDS.size(); f++) {
+                    out.writeUTF(Codecs.FIELDS.get(f).jsonName());
+                    out.writeByte(Codecs.FIELDS.get(f).type());
+                    out.writeInt(fieldPositions[f]);
+                }
+                out.writeInt(metrics.length);
+                for (GpuMetric metric : metrics) {
+                    out.writeUTF(metric.name());
+                    out.writeInt(metricPositions[metric.ordinal()]);
+                }
+                out.writeLong(directoryPosition);
+                out.writeInt(MAGIC);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** La generación más alta de {@code base} que existe (el propio base es la 0), o null si no hay ninguna. */
+    public static Path latestGeneration(Path base) throws IOException {
+        Path latest = null;
+        long highest = -1;
+        for (Path file : generations(base)) {
+            long generation = generationOf(base, file);
+            if (generation > highest) {
+                highest = generation;
+                latest = file;
+            }
+        }
+        return latest;
+    }
+
+    /** Fichero para la siguiente compilación: una generación por encima de todas las que existen. */
+    public static Path nextGeneration(Path base) throws IOException {
+        Path latest = latestGeneration(base);
+        return generation(base, latest != null ? generationOf(base, latest) + 1 : 0);
+    }
+
+    /**
+     * Borra las generaciones anteriores a {@code keep} salvo {@code inUse} (la mapeada por el catálogo
+     * publicado). Si alguna no se puede borrar (otro proceso la tiene mapeada) se deja para la próxima vez.
+     */
+    public static int deleteOlderGenerations(Path base, Path keep, Path inUse) throws IOException {
+        long kept = generationOf(base, keep);
+        int deleted = 0;
+        for (Path file : generations(base)) {
+            if (generationOf(base, file) >= kept || (inUse != null && file.toAbsolutePath().equals(inUse.toAbsolutePath()))) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(file);
+                deleted++;
+            } catch (IOException e) {
+                // Sigue mapeado en otro proceso
+            }
+        }
+        return deleted;
+    }
+
+    // "gpu_database.bin" -> "gpu_database.<n>.bin"; la generación 0 es el propio base
+    private static Path generation(Path base, long generation) {
+        if (generation == 0) {
+            return base;
+        }
+        String name = base.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String stem = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        return base.resolveSibling(stem + "." + generation + extension);
+    }
+
+    // -1 si el fichero no es una generación de base
+    private static long generationOf(Path base, Path file) {
+        String name = base.getFileName().toString();
+        String candidate = file.getFileName().toString();
+        if (candidate.equals(name)) {
+            return 0;
+        }
+        int dot = name.lastIndexOf('.');
+        String stem = (dot > 0 ? name.substring(0, dot) : name) + ".";
+        String extension = dot > 0 ? name.substring(dot) : "";
+        if (!candidate.startsWith(stem) || !candidate.endsWith(extension)
+                || candidate.length() <= stem.length() + extension.length()) {
+            return -1;
+        }
+        String number = candidate.substring(stem.length(), candidate.length() - extension.length());
+        for (int i = 0; i < number.length(); i++) {
+            if (number.charAt(i) < '0' || number.charAt(i) > '9') {
+                return -1;
+            }
+        }
+        return number.length() <= 18 ? Long.parseLong(number) : -1;
+    }
+
+    private static List<Path> generations(Path base) throws IOException {
+        Path parent = base.toAbsolutePath().getParent();
+        List<Path> files = new ArrayList<>();
+        if (parent == null || !Files.isDirectory(parent)) {
+            return files;
+        }
+        try (Stream<Path> listing = Files.list(parent)) {
+            listing.filter(file -> Files.isRegularFile(file) && generationOf(base, file) >= 0).forEach(files::add);
+        }
+        return files;
+    }
+
+    private static String readName(ByteBuffer directory) {
+        byte[] bytes = new byte[directory.getShort() & 0xFFFF];
+        directory.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public Origin origin() {
+        return origin;
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    public String name(int row) {
+        return string(buffer.getInt(nameColumn + row * Integer.BYTES));
+    }
+
+    public List<String> names() {
+        List<String> names = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            names.add(name(row));
+        }
+        return names;
+    }
+
+    /** Índice de búsqueda guardado en el fichero; {@code names} son los de {@link #names()}. */
+    public GpuSearchIndex searchIndex(List<String> names) {
+        return GpuSearchIndex.read(buffer.duplicate().position(searchIndexPosition), names);
+    }
+
+    /** GPU de la fila, decodificada la primera vez que se pide y reutilizada después. */
+    public Gpu gpu(int row) {
+        Gpu gpu = decoded.get(row);
+        if (gpu == null) {
+            gpu = decode(row);
+            if (!decoded.compareAndSet(row, null, gpu)) {
+                gpu = decoded.get(row);
+            }
+        }
+        return gpu;
+    }
+
+    /** Como {@link #gpu(int)} pero sin guardar la GPU decodificada, para recorridos completos. */
+    public Gpu read(int row) {
+        Gpu gpu = decoded.get(row);
+        return gpu != null ? gpu : decode(row);
+    }
+
+    /** Vista de solo lectura de las GPUs; cada elemento se decodifica al acceder a él. */
+    public List<Gpu> gpus() {
+        return new GpuList();
+    }
+
+    /**
+     * Columnas numéricas leídas directamente del fichero; las que no estén se calculan desde las GPUs
+     * y las derivadas, de las otras columnas.
+     */
+    public GpuColumns columns() {
+        GpuMetric[] metrics = GpuMetric.values();
+        double[][] columns = new double[metrics.length][rows];
+        for (GpuMetric metric : metrics) {
+            if (metric.isDerived()) {
+                continue;
+            }
+            double[] values = columns[metric.ordinal()];
+            Integer position = metricColumns.get(metric.name());
+            if (position != null) {
+                buffer.slice(position, rows * Double.BYTES).asDoubleBuffer().get(values);
+                continue;
+            }
+            for (int row = 0; row < rows; row++) {
+                values[row] = metric.valueOf(gpu(row));
+            }
+        }
+        GpuColumns.fillDerived(metrics, columns);
+        return GpuColumns.of(rows, columns);
+    }
+
+    private Gpu decode(int row) {
+        Gpu gpu = new Gpu();
+        for (FieldCodec field : Codecs.FIELDS) {
+            Column column = fieldColumns.get(field.jsonName());
+            if (column == null || column.type() != field.type()) {
+                continue;
+            }
+            Object value = switch (column.type()) {
+                case STRING -> string(buffer.getInt(column.position() + row * Integer.BYTES));
+                case INT -> {
+                    int v = buffer.getInt(column.position() + row * Integer.BYTES);
+                    yield v != NULL_INT ? v : null;
+                }
+                default -> {
+                    double v = buffer.getDouble(column.position() + row * Double.BYTES);
+                    yield Double.isNaN(v) ? null : v;
+                }
+            };
+            if (value != null) {
+                try {
+                    field.setter().invoke(gpu, value);
+                } catch (Throwable e) {
+                    throw new IllegalStateException("Cannot set " + field.jsonName(), e);
+                }
+            }
+        }
+        return gpu;
+    }
+
+    private String string(int id) {
+        if (id == NULL_STRING) {
+            return null;
+        }
+        int start = buffer.getInt(dictionaryOffsets + id * Integer.BYTES);
+        int end = buffer.getInt(dictionaryOffsets + (id + 1) * Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        buffer.get(dictionaryBytes + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private final class GpuList extends AbstractList<Gpu> implements RandomAccess {
+        @Override
+        public Gpu get(int index) {
+            if (index < 0 || index >= rows) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return gpu(index);
+        }
+
+        @Override
+        public int size() {
+            return rows;
+        }
+    }
+}
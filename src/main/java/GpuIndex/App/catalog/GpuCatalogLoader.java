@@ -0,0 +1,111 @@
+package GpuIndex.App.catalog;
+
+import GpuIndex.App.model.Gpu;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Carga en streaming del catálogo JSON (un array de objetos GPU). Cada objeto se decodifica por
+ * separado y se filtra antes de guardarlo, así que la memoria depende de lo que se conserva y no
+ * del tamaño del fichero.
+ */
+public final class GpuCatalogLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(GpuCatalogLoader.class);
+
+    public static final LocalDate DEFAULT_CUTOFF = LocalDate.of(2013, 1, 1);
+
+    private final ObjectMapper mapper;
+
+    public GpuCatalogLoader(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    public List<Gpu> load(InputStream inputStream, Predicate<Gpu> filter) throws IOException {
+        long start = System.nanoTime();
+        List<Gpu> kept = new ArrayList<>();
+        int read = 0;
+
+        try (JsonParser parser = mapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("El catálogo de GPUs debe ser un array JSON");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                Gpu gpu = mapper.readValue(parser, Gpu.class);
+                read++;
+                if (filter.test(gpu)) {
+                    kept.add(gpu);
+                }
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new IOException("Entrada inesperada en el catálogo de GPUs: " + token);
+            }
+        }
+
+        logger.info("Catálogo leído en {} ms: {} GPUs leídas, {} conservadas.",
+                (System.nanoTime() - start) / 1_000_000, read, kept.size());
+        return kept;
+    }
+
+    /**
+     * Recorre el catálogo sin guardarlo ni filtrarlo: cada GPU se decodifica al pedirla. Cerrar el
+     * iterador cierra también {@code inputStream}.
+     */
+    public MappingIterator<Gpu> iterate(InputStream inputStream) throws IOException {
+        // Con el parser a su cargo, Jackson entra en el array raíz y devuelve sus elementos
+        return mapper.readerFor(Gpu.class).readValues(inputStream);
+    }
+
+    /** Conserva solo las GPUs con fecha de lanzamiento válida y no anterior a {@code cutoff}. */
+    public static Predicate<Gpu> releasedSince(LocalDate cutoff) {
+        return gpu -> isReleasedSince(gpu, cutoff);
+    }
+
+    private static boolean isReleasedSince(Gpu gpu, LocalDate cutoff) {
+        String releaseDate = gpu.getReleaseDate();
+        if (releaseDate == null || releaseDate.isBlank()) {
+            return false;
+        }
+        String date = releaseDate.trim();
+
+        // Descarte rápido por año sin construir un LocalDate
+        int year = leadingYear(date);
+        if (year >= 0 && year < cutoff.getYear()) {
+            return false;
+        }
+        try {
+            return !LocalDate.parse(date).isBefore(cutoff);
+        } catch (DateTimeParseException e) {
+            logger.warn("Formato de fecha inválido para '{}': {}. Excluyendo de la búsqueda.", gpu.getName(), releaseDate);
+            return false;
+        }
+    }
+
+    private static int leadingYear(String date) {
+        if (date.length() < 5 || date.charAt(4) != '-') {
+            return -1;
+        }
+        int year = 0;
+        for (int i = 0; i < 4; i++) {
+            char c = date.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            year = year * 10 + (c - '0');
+        }
+        return year;
+    }
+}
@@ -0,0 +1,129 @@
+package GpuIndex.App.catalog;
+
+import GpuIndex.App.model.Gpu;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Copia columnar del catálogo: un {@code double[]} por métrica, con NaN donde falta el dato.
+ * Las filas son los mismos ids que usan los índices de búsqueda.
+ */
+public final class GpuColumns {
+
+    private final int size;
+    private final double[][] columns;
+
+    private GpuColumns(int size, double[][] columns) {
+        this.size = size;
+        this.columns = columns;
+    }
+
+    public static GpuColumns build(List<Gpu> gpus) {
+        GpuMetric[] metrics = GpuMetric.values();
+        double[][] columns = new double[metrics.length][gpus.size()];
+        for (int row = 0; row < gpus.size(); row++) {
+            Gpu gpu = gpus.get(row);
+            for (GpuMetric metric : metrics) {
+                if (!metric.isDerived()) {
+                    columns[metric.ordinal()][row] = metric.valueOf(gpu);
+                }
+            }
+        }
+        fillDerived(metrics, columns);
+        return new GpuColumns(gpus.size(), columns);
+    }
+
+    // Las métricas derivadas salen de las columnas ya calculadas, sin volver a leer texto de las GPUs
+    static void fillDerived(GpuMetric[] metrics, double[][] columns) {
+        for (GpuMetric metric : metrics) {
+            if (!metric.isDerived()) {
+                continue;
+            }
+            double[] numerator = columns[metric.numerator().ordinal()];
+            double[] denominator = columns[metric.denominator().ordinal()];
+            double[] values = columns[metric.ordinal()];
+            for (int row = 0; row < values.length; row++) {
+                values[row] = GpuMetric.ratio(numerator[row], denominator[row]);
+            }
+        }
+    }
+
+    // Columnas ya calculadas (p. ej. leídas de un GpuBinaryCatalog)
+    static GpuColumns of(int size, double[][] columns) {
+        return new GpuColumns(size, columns);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double value(GpuMetric metric, int row) {
+        return columns[metric.ordinal()][row];
+    }
+
+    /**
+     * Los {@code limit} mejores de {@code rows} por {@code metric}: de mayor a menor, o de menor a mayor
+     * si la métrica gana con valores bajos. Las filas sin dato van al final; los empates, por id.
+     */
+    public int[] best(int[] rows, GpuMetric metric, int limit) {
+        double[] values = column(metric);
+        float sign = metric.higherIsBetter() ? -1 : 1;
+        // Clave (el valor como float) y fila en un long: sin cajas ni comparador. El float solo ordena a
+        // grandes rasgos; los que empatan en él se ordenan después por el double
+        long[] keyed = new long[rows.length];
+        int known = 0;
+        int[] unknown = new int[rows.length];
+        int unknownCount = 0;
+        for (int row : rows) {
+            double value = values[row];
+            if (Double.isNaN(value)) {
+                unknown[unknownCount++] = row;
+                continue;
+            }
+            int bits = Float.floatToIntBits(sign * (float) value);
+            // Así los negativos también ordenan como enteros con signo
+            int key = bits >= 0 ? bits : bits ^ Integer.MAX_VALUE;
+            keyed[known++] = ((long) key << 32) | row;
+        }
+        Arrays.sort(keyed, 0, known);
+        for (int start = 0, end; start < known; start = end) {
+            end = start + 1;
+            while (end < known && keyed[end] >>> 32 == keyed[start] >>> 32) {
+                end++;
+            }
+            if (end - start > 1) {
+                sortExactly(keyed, start, end, values, sign);
+            }
+        }
+        int[] result = new int[Math.min(Math.max(limit, 0), rows.length)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = i < known ? (int) keyed[i] : unknown[i - known];
+        }
+        return result;
+    }
+
+    // Inserción sobre un tramo con la misma clave float (casi siempre corto): por el double y luego por fila
+    private static void sortExactly(long[] keyed, int from, int to, double[] values, float sign) {
+        for (int i = from + 1; i < to; i++) {
+            long entry = keyed[i];
+            double value = sign * values[(int) entry];
+            int j = i - 1;
+            while (j >= from && compare(sign * values[(int) keyed[j]], (int) keyed[j], value, (int) entry) > 0) {
+                keyed[j + 1] = keyed[j];
+                j--;
+            }
+            keyed[j + 1] = entry;
+        }
+    }
+
+    private static int compare(double a, int rowA, double b, int rowB) {
+        int byValue = Double.compare(a, b);
+        return byValue != 0 ? byValue : Integer.compare(rowA, rowB);
+    }
+
+    // Acceso directo para bucles sobre la columna; no se debe modificar
+    double[] column(GpuMetric metric) {
+        return columns[metric.ordinal()];
+    }
+}
@@ -0,0 +1,97 @@
+package GpuIndex.App.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Comparación de N GPUs del catálogo, métrica a métrica. Cada métrica se calcula sobre su columna de
+ * {@link GpuColumns} (no GPU a GPU con getters): una pasada por las filas elegidas da el mejor y el
+ * peor valor y otra la diferencia de cada GPU respecto a la mejor y su puntuación normalizada.
+ */
+public final class GpuComparison {
+
+    // Al menos el tamaño máximo de una lista (gpu.lists.max-size), para que 'list compare' admita una llena
+    public static final int MAX_GPUS = 1000;
+
+    /**
+     * Una métrica de la matriz. Los arrays van en el orden de {@link Matrix#gpus()}, con null donde la
+     * GPU no tiene el dato. {@code deltaPercent} es (valor - mejor) / |mejor| * 100, así que la mejor
+     * queda en 0 (null si la mejor es 0 y esta no); {@code score} va de 0 (la peor) a 100 (la mejor).
+     */
+    public record MetricRow(String metric, String unit, boolean higherIsBetter, double best, double worst,
+                            Double[] values, Double[] deltaPercent, Double[] score) {
+    }
+
+    /**
+     * Resultado completo. {@code overall} es la media de las puntuaciones de cada GPU en las métricas
+     * en las que tiene dato (null si no tiene ninguno). Las métricas sin dato en ninguna GPU no salen.
+     */
+    public record Matrix(long catalogVersion, List<String> gpus, List<String> missing,
+                         List<MetricRow> metrics, Double[] overall) {
+    }
+
+    private GpuComparison() {
+    }
+
+    /** Compara las filas {@code rows} de {@code columns}; {@code names} son sus nombres, en el mismo orden. */
+    public static Matrix compare(long catalogVersion, GpuColumns columns, int[] rows, List<String> names,
+                                 List<String> missing, List<GpuMetric> metrics) {
+        int n = rows.length;
+        double[] scoreSum = new double[n];
+        int[] scored = new int[n];
+        List<MetricRow> metricRows = new ArrayList<>(metrics.size());
+
+        for (GpuMetric metric : metrics) {
+            double[] column = columns.column(metric);
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            boolean any = false;
+            for (int row : rows) {
+                double value = column[row];
+                if (Double.isNaN(value)) {
+                    continue;
+                }
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                any = true;
+            }
+            if (!any) {
+                continue;
+            }
+
+            boolean higherIsBetter = metric.higherIsBetter();
+            double best = higherIsBetter ? max : min;
+            double worst = higherIsBetter ? min : max;
+            double range = max - min;
+            Double[] values = new Double[n];
+            Double[] deltas = new Double[n];
+            Double[] scores = new Double[n];
+            for (int i = 0; i < n; i++) {
+                double value = column[rows[i]];
+                if (Double.isNaN(value)) {
+                    continue;
+                }
+                double score = range > 0
+                        ? (higherIsBetter ? value - min : max - value) / range * 100
+                        : 100;
+                values[i] = value;
+                if (best != 0) {
+                    deltas[i] = (value - best) / Math.abs(best) * 100;
+                } else if (value == best) {
+                    deltas[i] = 0.0;
+                }
+                scores[i] = score;
+                scoreSum[i] += score;
+                scored[i]++;
+            }
+            metricRows.add(new MetricRow(metric.key(), metric.unit(), higherIsBetter, best, worst,
+                    values, deltas, scores));
+        }
+
+        Double[] overall = new Double[n];
+        for (int i = 0; i < n; i++) {
+            overall[i] = scored[i] > 0 ? scoreSum[i] / scored[i] : null;
+        }
+        return new Matrix(catalogVersion, List.copyOf(names), List.copyOf(missing), metricRows, overall);
+    }
+}
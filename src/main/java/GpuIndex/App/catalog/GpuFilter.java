@@ -0,0 +1,150 @@
+package GpuIndex.App.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Filtro por rangos sobre {@link GpuColumns}, p. ej. {@code "vram>=12, bandwidth>=500"}.
+ * Cada condición se evalúa como un bucle sobre su columna primitiva; los NaN (sin dato) nunca cumplen.
+ */
+public final class GpuFilter {
+
+    private static final Pattern OPERATOR_SPACING = Pattern.compile("\\s*(>=|<=|>|<|=)\\s*");
+    private static final String NUMBER = "[-+]?\\d*\\.?\\d+(?:[eE][-+]?\\d+)?";
+    private static final Pattern CLAUSE = Pattern.compile(
+            "([a-zA-Z0-9_]+)(>=|<=|>|<|=)(" + NUMBER + ")(?:\\.\\.(" + NUMBER + "))?");
+
+    public record Range(GpuMetric metric, double min, double max) {
+    }
+
+    private final List<Range> ranges;
+    private final String description;
+
+    private GpuFilter(List<Range> ranges, String description) {
+        this.ranges = ranges;
+        this.description = description;
+    }
+
+    public static GpuFilter of(List<Range> ranges) {
+        List<String> parts = new ArrayList<>();
+        for (Range range : ranges) {
+            parts.add(range.metric().key() + "=" + range.min() + ".." + range.max());
+        }
+        return new GpuFilter(List.copyOf(ranges), String.join(", ", parts));
+    }
+
+    /**
+     * Admite condiciones separadas por comas, espacios o "and": {@code metric>=x}, {@code metric<=x},
+     * {@code metric>x}, {@code metric<x}, {@code metric=x} y {@code metric=min..max}.
+     */
+    public static GpuFilter parse(String expression) {
+        if (expression == null || expression.isBlank()) {
+            return new GpuFilter(Collections.emptyList(), "");
+        }
+        String compact = OPERATOR_SPACING.matcher(expression.trim()).replaceAll("$1");
+        List<Range> ranges = new ArrayList<>();
+        List<String> clauses = new ArrayList<>();
+        for (String clause : compact.split("[,\\s]+")) {
+            if (clause.isEmpty() || clause.equalsIgnoreCase("and")) {
+                continue;
+            }
+            ranges.add(parseClause(clause));
+            clauses.add(clause);
+        }
+        return new GpuFilter(List.copyOf(ranges), String.join(", ", clauses));
+    }
+
+    private static Range parseClause(String clause) {
+        Matcher m = CLAUSE.matcher(clause);
+        if (!m.matches()) {
+            throw new IllegalArgumentException("Invalid filter condition: '" + clause + "'");
+        }
+        GpuMetric metric = GpuMetric.fromName(m.group(1));
+        String op = m.group(2);
+        double value = parseNumber(m.group(3), clause);
+
+        if (m.group(4) != null) {
+            if (!op.equals("=")) {
+                throw new IllegalArgumentException("Ranges use '=': '" + clause + "'");
+            }
+            return new Range(metric, value, parseNumber(m.group(4), clause));
+        }
+        return switch (op) {
+            case ">=" -> new Range(metric, value, Double.POSITIVE_INFINITY);
+            case ">" -> new Range(metric, Math.nextUp(value), Double.POSITIVE_INFINITY);
+            case "<=" -> new Range(metric, Double.NEGATIVE_INFINITY, value);
+            case "<" -> new Range(metric, Double.NEGATIVE_INFINITY, Math.nextDown(value));
+            default -> new Range(metric, value, value);
+        };
+    }
+
+    private static double parseNumber(String text, String clause) {
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in condition: '" + clause + "'");
+        }
+    }
+
+    public List<Range> ranges() {
+        return ranges;
+    }
+
+    public boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+
+    /** Si la fila cumple todas las condiciones; para recorridos que no quieren reservar el array de ids. */
+    public boolean test(GpuColumns columns, int row) {
+        for (Range range : ranges) {
+            double v = columns.value(range.metric(), row);
+            if (!(v >= range.min() && v <= range.max())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Ids que cumplen todas las condiciones, en orden ascendente y como mucho {@code limit}. */
+    public int[] apply(GpuColumns columns, int limit) {
+        int size = columns.size();
+        long[] matches = new long[(size + 63) >>> 6];
+        Arrays.fill(matches, -1L);
+
+        for (Range range : ranges) {
+            double[] values = columns.column(range.metric());
+            double min = range.min();
+            double max = range.max();
+            for (int row = 0; row < size; row++) {
+                double v = values[row];
+                if (!(v >= min && v <= max)) {
+                    matches[row >>> 6] &= ~(1L << row);
+                }
+            }
+        }
+
+        int[] hits = new int[Math.min(Math.max(limit, 0), size)];
+        int found = 0;
+        for (int word = 0; word < matches.length && found < hits.length; word++) {
+            long bits = matches[word];
+            while (bits != 0 && found < hits.length) {
+                int row = (word << 6) + Long.numberOfTrailingZeros(bits);
+                if (row >= size) {
+                    break;
+                }
+                hits[found++] = row;
+                bits &= bits - 1;
+            }
+        }
+        return found == hits.length ? hits : Arrays.copyOf(hits, found);
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -0,0 +1,72 @@
+package GpuIndex.App.catalog;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Búsqueda exacta O(1) por nombre (sin distinguir mayúsculas) y por la URL {@code local://} que
+ * genera la búsqueda. Los ids son las posiciones en la lista de nombres.
+ */
+public final class GpuLookupIndex {
+
+    public static final String LOCAL_URL_PREFIX = "local://";
+
+    private final Map<String, Integer> byName;
+    private final Map<String, Integer> bySlug;
+
+    private GpuLookupIndex(Map<String, Integer> byName, Map<String, Integer> bySlug) {
+        this.byName = byName;
+        this.bySlug = bySlug;
+    }
+
+    public static GpuLookupIndex build(List<String> names) {
+        Map<String, Integer> byName = new HashMap<>(names.size() * 2);
+        Map<String, Integer> bySlug = new HashMap<>(names.size() * 2);
+        for (int id = 0; id < names.size(); id++) {
+            String name = names.get(id);
+            if (name == null) {
+                continue;
+            }
+            // Ante duplicados gana el primero, igual que el antiguo findFirst()
+            byName.putIfAbsent(fold(name), id);
+            bySlug.putIfAbsent(slugOf(name), id);
+        }
+        return new GpuLookupIndex(byName, bySlug);
+    }
+
+    public static String slugOf(String name) {
+        return name.toLowerCase(Locale.ROOT).replace(" ", "-");
+    }
+
+    public static String urlOf(String name) {
+        return LOCAL_URL_PREFIX + slugOf(name);
+    }
+
+    /** Id de la GPU con ese nombre exacto, o -1. */
+    public int idOfName(String name) {
+        if (name == null) {
+            return -1;
+        }
+        Integer id = byName.get(fold(name.trim()));
+        return id != null ? id : -1;
+    }
+
+    /** Id de la GPU para una URL {@code local://slug} o un slug suelto, o -1. */
+    public int idOfUrl(String url) {
+        if (url == null) {
+            return -1;
+        }
+        String slug = url.trim();
+        if (slug.regionMatches(true, 0, LOCAL_URL_PREFIX, 0, LOCAL_URL_PREFIX.length())) {
+            slug = slug.substring(LOCAL_URL_PREFIX.length());
+        }
+        Integer id = bySlug.get(slug.toLowerCase(Locale.ROOT));
+        return id != null ? id : -1;
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,149 @@
+package GpuIndex.App.catalog;
+
+import GpuIndex.App.model.Gpu;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Especificaciones numéricas del catálogo que se guardan en columnas primitivas ({@link GpuColumns}).
+ * Cada métrica se identifica por su propiedad JSON y por alias cortos para la shell.
+ */
+public enum GpuMetric {
+
+    FP32("single_float_performance_gflop_s", "GFLOPs", Gpu::getSingleFloatPerformanceGflopS, "fp32"),
+    BANDWIDTH("memory_bandwidth_gb_s", "GB/s", Gpu::getBandwidth, "bandwidth", "bw"),
+    MEMORY_SIZE("memory_size_gb", "GB", Gpu::getMemorySize, "vram", "memory"),
+    MEMORY_BUS("memory_bus_bits", "bits", Gpu::getMemoryBus, "bus"),
+    MEMORY_CLOCK("memory_clock_mhz", "MHz", Gpu::getMemoryClockMhz, "memory_clock"),
+    BASE_CLOCK("base_clock_mhz", "MHz", Gpu::getBaseClock, "base_clock", "base"),
+    BOOST_CLOCK("boost_clock_mhz", "MHz", Gpu::getBoostClock, "boost_clock", "boost"),
+    SHADING_UNITS("shading_units", "", Gpu::getShadingUnits, "shaders", "cores"),
+    TEXTURE_UNITS("texture_mapping_units", "", Gpu::getTextureMappingUnits, "tmus"),
+    ROPS("render_output_processors", "", Gpu::getRenderOutputProcessors, "rops"),
+    STREAMING_MULTIPROCESSORS("streaming_multiprocessors", "", Gpu::getStreamingMultiprocessors, "sms"),
+    TENSOR_CORES("tensor_cores", "", Gpu::getTensorCores, "tensor"),
+    RT_CORES("ray_tracing_cores", "", Gpu::getRayTracingCores, "rt_cores", "rt"),
+    L1_CACHE("l1_cache_kb", "KB", Gpu::getL1CacheKb, "l1"),
+    L2_CACHE("l2_cache_mb", "MB", Gpu::getL2CacheMb, "l2"),
+    PROCESS_SIZE("process_size_nm", "nm", Gpu::getProcessSizeNm, "process"),
+    TRANSISTORS("transistor_count_m", "M", Gpu::getTransistorCountM, "transistors"),
+    DIE_SIZE("die_size_mm2", "mm2", Gpu::getDieSizeMm2, "die"),
+    BOARD_LENGTH("board_length_mm", "mm", Gpu::getBoardLengthMm, "length"),
+    // Texto libre en el catálogo: se lee una vez al construir las columnas (GpuSpecParser)
+    TDP("thermal_design_power_w", "W", gpu -> GpuSpecParser.watts(gpu.getTdp()), "tdp", "power"),
+    SUGGESTED_PSU("suggested_psu_w", "W", gpu -> GpuSpecParser.watts(gpu.getSuggestedPsu()), "psu"),
+    SLOT_WIDTH("board_slot_width", "slots", gpu -> GpuSpecParser.slots(gpu.getBoardSlotWidth()), "slots"),
+    RELEASE_YEAR("release_year", "", gpu -> GpuSpecParser.year(gpu.getReleaseDate()), "year", "released"),
+    // Derivadas: cociente de otras dos; GpuColumns las calcula columna a columna sin volver a leer las GPUs
+    FP32_PER_WATT("fp32_per_watt", "GFLOPs/W", FP32, TDP, "efficiency", "perf_per_watt"),
+    BANDWIDTH_PER_WATT("bandwidth_per_watt", "GB/s/W", BANDWIDTH, TDP, "bw_per_watt"),
+    TRANSISTOR_DENSITY("transistor_density", "M/mm2", TRANSISTORS, DIE_SIZE, "density");
+
+    private static final Map<String, GpuMetric> BY_NAME = new HashMap<>();
+
+    static {
+        for (GpuMetric metric : values()) {
+            BY_NAME.put(metric.key, metric);
+            BY_NAME.put(metric.name().toLowerCase(Locale.ROOT), metric);
+            for (String alias : metric.aliases) {
+                BY_NAME.put(alias, metric);
+            }
+        }
+    }
+
+    private final String key;
+    private final String unit;
+    private final Function<Gpu, Number> extractor;
+    private final GpuMetric numerator;
+    private final GpuMetric denominator;
+    private final List<String> aliases;
+
+    GpuMetric(String key, String unit, Function<Gpu, Number> extractor, String... aliases) {
+        this.key = key;
+        this.unit = unit;
+        this.extractor = extractor;
+        this.numerator = null;
+        this.denominator = null;
+        this.aliases = List.of(aliases);
+    }
+
+    GpuMetric(String key, String unit, GpuMetric numerator, GpuMetric denominator, String... aliases) {
+        this.key = key;
+        this.unit = unit;
+        this.extractor = gpu -> ratio(numerator.valueOf(gpu), denominator.valueOf(gpu));
+        this.numerator = numerator;
+        this.denominator = denominator;
+        this.aliases = List.of(aliases);
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public String unit() {
+        return unit;
+    }
+
+    public List<String> aliases() {
+        return aliases;
+    }
+
+    /** Si en una comparación gana el valor más alto; en proceso, tamaño de la placa y consumo gana el más bajo. */
+    public boolean higherIsBetter() {
+        return switch (this) {
+            case PROCESS_SIZE, BOARD_LENGTH, TDP, SUGGESTED_PSU, SLOT_WIDTH -> false;
+            default -> true;
+        };
+    }
+
+    /** Si es el cociente de otras dos métricas ({@link #numerator()} / {@link #denominator()}). */
+    public boolean isDerived() {
+        return numerator != null;
+    }
+
+    public GpuMetric numerator() {
+        return numerator;
+    }
+
+    public GpuMetric denominator() {
+        return denominator;
+    }
+
+    /** a / b, o NaN si falta alguno o b no es positivo. */
+    static double ratio(double a, double b) {
+        return b > 0 ? a / b : Double.NaN;
+    }
+
+    /** Valor de la GPU como double, o NaN si no hay dato. */
+    public double valueOf(Gpu gpu) {
+        Number value = extractor.apply(gpu);
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+
+    /** Lista separada por comas, p. ej. "fp32,bw,vram". */
+    public static List<GpuMetric> parseList(String commaSeparated) {
+        List<GpuMetric> metrics = new ArrayList<>();
+        for (String name : commaSeparated.split(",")) {
+            if (!name.isBlank()) {
+                metrics.add(fromName(name));
+            }
+        }
+        if (metrics.isEmpty()) {
+            throw new IllegalArgumentException("No metrics given");
+        }
+        return metrics;
+    }
+
+    public static GpuMetric fromName(String name) {
+        GpuMetric metric = BY_NAME.get(name.trim().toLowerCase(Locale.ROOT));
+        if (metric == null) {
+            throw new IllegalArgumentException("Unknown metric: '" + name + "'");
+        }
+        return metric;
+    }
+}
@@ -0,0 +1,454 @@
+package GpuIndex.App.catalog;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * Índice invertido en memoria sobre los nombres del catálogo: tokens completos y trigramas de caracteres.
+ * Los ids de documento son las posiciones en la lista de nombres, así que si la lista está ordenada
+ * los resultados salen ya ordenados y no hace falta volver a ordenar.
+ */
+public final class GpuSearchIndex {
+
+    private static final int[] NO_HITS = new int[0];
+
+    // Niveles de relevancia, de mejor a peor
+    private static final long EXACT = 0;
+    private static final long PREFIX = 1;
+    private static final long TOKEN = 2;
+    private static final long SUBSTRING = 3;
+    private static final int MAX_RANKED_LENGTH = 0xFFFFF;
+    // Claves de orden guardadas para paginar, entre todas las consultas (8 bytes cada una)
+    private static final long MAX_CACHED_KEYS = 1 << 21;
+
+    /**
+     * Página de resultados por relevancia. {@code next} es la clave de orden del último id devuelto,
+     * para pedir la página siguiente, o -1 si no hay más; {@code total} cuenta todas las coincidencias.
+     */
+    public record Page(int[] ids, int total, long next) {
+        public boolean hasMore() {
+            return next >= 0;
+        }
+    }
+
+    private final String[] lowerNames;
+    private final Map<String, int[]> tokenPostings;
+    // Claves ordenadas de las consultas que se han paginado más allá de la primera página
+    private final Cache<String, long[]> rankedKeys = Caffeine.newBuilder()
+            .maximumWeight(MAX_CACHED_KEYS)
+            .weigher((String query, long[] keys) -> keys.length + 1)
+            .build();
+
+    // Tabla hash abierta trigrama -> postings, para no usar Long en cada consulta
+    private final long[] gramKeys;
+    private final int[][] gramPostings;
+    private final int gramMask;
+
+    private GpuSearchIndex(String[] lowerNames, Map<String, int[]> tokenPostings,
+                           long[] gramKeys, int[][] gramPostings) {
+        this.lowerNames = lowerNames;
+        this.tokenPostings = tokenPostings;
+        this.gramKeys = gramKeys;
+        this.gramPostings = gramPostings;
+        this.gramMask = gramKeys.length - 1;
+    }
+
+    private static String[] lowerNames(List<String> names) {
+        String[] lowerNames = new String[names.size()];
+        for (int doc = 0; doc < lowerNames.length; doc++) {
+            String name = names.get(doc);
+            lowerNames[doc] = name == null ? "" : name.toLowerCase(Locale.ROOT);
+        }
+        return lowerNames;
+    }
+
+    public static GpuSearchIndex build(List<String> names) {
+        String[] lowerNames = lowerNames(names);
+        Map<String, IntList> tokens = new HashMap<>();
+        Map<Long, IntList> grams = new HashMap<>();
+
+        for (int doc = 0; doc < lowerNames.length; doc++) {
+            String lower = lowerNames[doc];
+
+            for (String token : lower.split("\\s+")) {
+                if (!token.isEmpty()) {
+                    tokens.computeIfAbsent(token, k -> new IntList()).addOnce(doc);
+                }
+            }
+            for (int i = 0; i + 3 <= lower.length(); i++) {
+                grams.computeIfAbsent(gramKey(lower, i), k -> new IntList()).addOnce(doc);
+            }
+        }
+
+        Map<String, int[]> tokenPostings = new HashMap<>(tokens.size() * 2);
+        tokens.forEach((token, postings) -> tokenPostings.put(token, postings.toArray()));
+
+        int capacity = Integer.highestOneBit(Math.max(grams.size(), 1) * 2) << 1;
+        long[] gramKeys = new long[capacity];
+        int[][] gramPostings = new int[capacity][];
+        int mask = capacity - 1;
+        for (Map.Entry<Long, IntList> entry : grams.entrySet()) {
+            long key = entry.getKey();
+            int slot = slot(key, mask);
+            while (gramPostings[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            gramKeys[slot] = key;
+            gramPostings[slot] = entry.getValue().toArray();
+        }
+
+        return new GpuSearchIndex(lowerNames, tokenPostings, gramKeys, gramPostings);
+    }
+
+    /**
+     * Vuelca la tabla de trigramas (con sus huecos, tal cual) y los postings de tokens para
+     * {@link GpuBinaryCatalog}. Claves, longitudes y postings van en bloques contiguos para que
+     * {@link #read} los recupere con copias en bloque, sin volver a indexar.
+     */
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(gramKeys.length);
+        for (long key : gramKeys) {
+            out.writeLong(key);
+        }
+        writePostings(out, Arrays.asList(gramPostings));
+
+        List<String> tokens = new ArrayList<>(tokenPostings.keySet());
+        out.writeInt(tokens.size());
+        writePostings(out, tokens.stream().map(tokenPostings::get).toList());
+        for (String token : tokens) {
+            byte[] bytes = token.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /** Lee lo escrito por {@link #write} a partir de la posición actual; {@code names} son los mismos nombres. */
+    static GpuSearchIndex read(ByteBuffer in, List<String> names) {
+        long[] gramKeys = new long[in.getInt()];
+        in.asLongBuffer().get(gramKeys);
+        in.position(in.position() + gramKeys.length * Long.BYTES);
+        int[][] gramPostings = readPostings(in, gramKeys.length);
+
+        int tokenCount = in.getInt();
+        int[][] postings = readPostings(in, tokenCount);
+        Map<String, int[]> tokenPostings = new HashMap<>(tokenCount * 2);
+        for (int i = 0; i < tokenCount; i++) {
+            byte[] token = new byte[in.getInt()];
+            in.get(token);
+            tokenPostings.put(new String(token, StandardCharsets.UTF_8), postings[i]);
+        }
+        return new GpuSearchIndex(lowerNames(names), tokenPostings, gramKeys, gramPostings);
+    }
+
+    // Longitudes (-1 = hueco) y después todos los ids seguidos
+    private static void writePostings(DataOutputStream out, List<int[]> lists) throws IOException {
+        for (int[] postings : lists) {
+            out.writeInt(postings == null ? -1 : postings.length);
+        }
+        for (int[] postings : lists) {
+            if (postings != null) {
+                for (int doc : postings) {
+                    out.writeInt(doc);
+                }
+            }
+        }
+    }
+
+    private static int[][] readPostings(ByteBuffer in, int count) {
+        int[] lengths = new int[count];
+        in.asIntBuffer().get(lengths);
+        in.position(in.position() + count * Integer.BYTES);
+        int total = 0;
+        for (int length : lengths) {
+            total += Math.max(length, 0);
+        }
+        int[] all = new int[total];
+        in.asIntBuffer().get(all);
+        in.position(in.position() + total * Integer.BYTES);
+
+        int[][] lists = new int[count][];
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            if (lengths[i] >= 0) {
+                lists[i] = Arrays.copyOfRange(all, offset, offset + lengths[i]);
+                offset += lengths[i];
+            }
+        }
+        return lists;
+    }
+
+    public int size() {
+        return lowerNames.length;
+    }
+
+    /**
+     * Devuelve, en orden ascendente, los ids cuyo nombre contiene la consulta (ya en minúsculas y sin
+     * espacios al borde, como
+     * la deja DbService.searchKey). Mismo criterio que {@code name.toLowerCase(Locale.ROOT).contains(query)}.
+     */
+    public int[] search(String lowerQuery, int limit) {
+        if (limit <= 0 || lowerNames.length == 0) {
+            return NO_HITS;
+        }
+        if (lowerQuery.isEmpty()) {
+            int[] all = new int[Math.min(limit, lowerNames.length)];
+            Arrays.setAll(all, i -> i);
+            return all;
+        }
+        if (lowerQuery.length() < 3) {
+            return scan(lowerQuery, limit);
+        }
+
+        List<int[]> lists = candidateLists(lowerQuery);
+        if (lists == null) {
+            return NO_HITS;
+        }
+        lists.sort((a, b) -> Integer.compare(a.length, b.length));
+
+        int[] smallest = lists.get(0);
+        int[] hits = new int[Math.min(limit, smallest.length)];
+        int found = 0;
+        for (int doc : smallest) {
+            if (containsInAll(lists, doc) && lowerNames[doc].contains(lowerQuery)) {
+                hits[found++] = doc;
+                if (found == hits.length) {
+                    break;
+                }
+            }
+        }
+        return found == hits.length ? hits : Arrays.copyOf(hits, found);
+    }
+
+    /**
+     * Igual que {@link #search} pero ordenado por relevancia: nombre exacto, empieza por la consulta,
+     * la consulta empieza en una palabra, la contiene en cualquier sitio. A igual nivel va antes el nombre
+     * más corto y después el orden alfabético. {@code after} es el {@link Page#next()} de la página
+     * anterior, o -1.
+     *
+     * <p>La primera página solo ordena los {@code limit} mejores (montículo acotado). Al pedir la segunda
+     * se ordenan una vez todas las claves de la consulta y se guardan en este índice, que es de un solo
+     * catálogo; las páginas siguientes son una búsqueda binaria y una copia, sin volver a recorrer.
+     */
+    public Page searchRanked(String lowerQuery, int limit, long after) {
+        if (limit <= 0 || lowerNames.length == 0) {
+            return new Page(NO_HITS, 0, -1);
+        }
+        if (after < 0) {
+            TopK top = new TopK(limit);
+            match(lowerQuery, top);
+            long[] keys = top.sorted();
+            return page(keys, 0, keys.length, top.offered, top.offered > keys.length);
+        }
+        long[] ranked = rankedKeys.get(lowerQuery, query -> {
+            LongStream.Builder keys = LongStream.builder();
+            match(query, keys);
+            return keys.build().sorted().toArray();
+        });
+        int position = Arrays.binarySearch(ranked, after);
+        int from = position >= 0 ? position + 1 : -position - 1;
+        int to = (int) Math.min((long) from + limit, ranked.length);
+        return page(ranked, from, to, ranked.length, to < ranked.length);
+    }
+
+    private static Page page(long[] keys, int from, int to, int total, boolean more) {
+        int[] ids = new int[to - from];
+        for (int i = from; i < to; i++) {
+            ids[i - from] = (int) keys[i];
+        }
+        return new Page(ids, total, more && to > from ? keys[to - 1] : -1);
+    }
+
+    // Pasa a 'keys' la clave de orden de cada coincidencia, sin orden
+    private void match(String lowerQuery, LongConsumer keys) {
+        if (lowerQuery.length() < 3) {
+            for (int doc = 0; doc < lowerNames.length; doc++) {
+                int at = lowerNames[doc].indexOf(lowerQuery);
+                if (at >= 0) {
+                    keys.accept(rankKey(doc, lowerQuery, at));
+                }
+            }
+            return;
+        }
+        List<int[]> lists = candidateLists(lowerQuery);
+        if (lists == null) {
+            return;
+        }
+        lists.sort((a, b) -> Integer.compare(a.length, b.length));
+        for (int doc : lists.get(0)) {
+            int at = containsInAll(lists, doc) ? lowerNames[doc].indexOf(lowerQuery) : -1;
+            if (at >= 0) {
+                keys.accept(rankKey(doc, lowerQuery, at));
+            }
+        }
+    }
+
+    // nivel | longitud del nombre | id, para comparar como un solo long (menor = mejor); 'at' es la primera aparición
+    private long rankKey(int doc, String lowerQuery, int at) {
+        String name = lowerNames[doc];
+        if (lowerQuery.isEmpty()) {
+            return doc;
+        }
+        long tier;
+        if (at == 0) {
+            tier = name.length() == lowerQuery.length() ? EXACT : PREFIX;
+        } else {
+            tier = SUBSTRING;
+            for (int i = at; i > 0; i = name.indexOf(lowerQuery, i + 1)) {
+                if (name.charAt(i - 1) == ' ') {
+                    tier = TOKEN;
+                    break;
+                }
+            }
+        }
+        return tier << 52 | (long) Math.min(name.length(), MAX_RANKED_LENGTH) << 32 | doc;
+    }
+
+    // Trigramas de toda la consulta + tokens interiores, que en el nombre tienen que aparecer completos
+    private List<int[]> candidateLists(String lowerQuery) {
+        List<int[]> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= lowerQuery.length(); i++) {
+            int[] postings = gramPostings(gramKey(lowerQuery, i));
+            if (postings == null) {
+                return null;
+            }
+            lists.add(postings);
+        }
+
+        String[] queryTokens = lowerQuery.split(" ");
+        for (int i = 1; i < queryTokens.length - 1; i++) {
+            if (queryTokens[i].isEmpty()) {
+                continue;
+            }
+            int[] postings = tokenPostings.get(queryTokens[i]);
+            if (postings == null) {
+                return null;
+            }
+            lists.add(postings);
+        }
+        return lists;
+    }
+
+    private static boolean containsInAll(List<int[]> lists, int doc) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (Arrays.binarySearch(lists.get(i), doc) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int[] scan(String lowerQuery, int limit) {
+        int[] hits = new int[Math.min(limit, lowerNames.length)];
+        int found = 0;
+        for (int doc = 0; doc < lowerNames.length && found < hits.length; doc++) {
+            if (lowerNames[doc].contains(lowerQuery)) {
+                hits[found++] = doc;
+            }
+        }
+        return Arrays.copyOf(hits, found);
+    }
+
+    private int[] gramPostings(long key) {
+        int slot = slot(key, gramMask);
+        while (gramPostings[slot] != null) {
+            if (gramKeys[slot] == key) {
+                return gramPostings[slot];
+            }
+            slot = (slot + 1) & gramMask;
+        }
+        return null;
+    }
+
+    private static long gramKey(String s, int offset) {
+        return ((long) s.charAt(offset) << 32) | ((long) s.charAt(offset + 1) << 16) | s.charAt(offset + 2);
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    // Montículo de máximos con las k claves más pequeñas vistas hasta ahora
+    private static final class TopK implements LongConsumer {
+        private final int k;
+        private long[] heap;
+        private int size;
+        private int offered;
+
+        TopK(int k) {
+            this.k = k;
+            this.heap = new long[Math.min(k, 64)];
+        }
+
+        @Override
+        public void accept(long key) {
+            offered++;
+            if (size < k) {
+                if (size == heap.length) {
+                    heap = Arrays.copyOf(heap, (int) Math.min((long) size * 2, k));
+                }
+                int i = size++;
+                while (i > 0 && heap[(i - 1) >>> 1] < key) {
+                    heap[i] = heap[(i - 1) >>> 1];
+                    i = (i - 1) >>> 1;
+                }
+                heap[i] = key;
+            } else if (key < heap[0]) {
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && heap[child + 1] > heap[child]) {
+                        child++;
+                    }
+                    if (heap[child] <= key) {
+                        break;
+                    }
+                    heap[i] = heap[child];
+                    i = child;
+                }
+                heap[i] = key;
+            }
+        }
+
+        long[] sorted() {
+            long[] keys = Arrays.copyOf(heap, size);
+            Arrays.sort(keys);
+            return keys;
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void addOnce(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
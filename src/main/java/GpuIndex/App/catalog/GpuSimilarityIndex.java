@@ -0,0 +1,294 @@
+package GpuIndex.App.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Vecinos más cercanos para "GPUs parecidas a esta". Cada GPU es un punto de {@link #FEATURES}: las
+ * métricas que crecen en múltiplos (FP32, ancho de banda, VRAM, bus, TDP) en escala logarítmica y todas
+ * normalizadas a media 0 y desviación 1, para que ninguna pese más por sus unidades. Un dato que falta
+ * cuenta como la media del catálogo; las GPUs con menos de {@link #MIN_KNOWN} datos no salen como
+ * resultado.
+ *
+ * <p>Los puntos van en un kd-tree implícito que se construye una vez por catálogo: un {@code float[]}
+ * reordenado de forma que cada tramo [lo, hi) es un nodo, su mediana el punto de corte y las mitades
+ * los hijos. Una consulta baja por el tramo de la GPU y solo visita las ramas que pueden mejorar los k
+ * mejores, sin recorrer todo el catálogo.
+ */
+public final class GpuSimilarityIndex {
+
+    public static final int MAX_K = 100;
+
+    public static final List<GpuMetric> FEATURES = List.of(
+            GpuMetric.FP32, GpuMetric.BANDWIDTH, GpuMetric.MEMORY_SIZE,
+            GpuMetric.MEMORY_BUS, GpuMetric.TDP, GpuMetric.RELEASE_YEAR);
+    private static final boolean[] LOG_SCALE = {true, true, true, true, true, false};
+    private static final int DIMENSIONS = FEATURES.size();
+    private static final int MIN_KNOWN = 3;
+    private static final int LEAF_SIZE = 8;
+
+    /** Una GPU parecida: su fila en el catálogo y la distancia en el espacio normalizado. */
+    public record Neighbor(int row, double distance) {
+    }
+
+    private final float[] normalized; // fila * DIMENSIONS, en orden de catálogo
+    private final float[] points;     // los mismos puntos en el orden del árbol
+    private final int[] rows;         // fila del catálogo de cada punto del árbol
+    private final byte[] splits;      // dimensión de corte del nodo cuya mediana es esa posición
+
+    private GpuSimilarityIndex(float[] normalized, float[] points, int[] rows, byte[] splits) {
+        this.normalized = normalized;
+        this.points = points;
+        this.rows = rows;
+        this.splits = splits;
+    }
+
+    public static GpuSimilarityIndex build(GpuColumns columns) {
+        int size = columns.size();
+        float[] normalized = new float[size * DIMENSIONS];
+        int[] known = new int[size];
+        for (int d = 0; d < DIMENSIONS; d++) {
+            double[] column = columns.column(FEATURES.get(d));
+            double[] scaled = new double[size];
+            double sum = 0;
+            double sumSquares = 0;
+            int count = 0;
+            for (int row = 0; row < size; row++) {
+                double value = column[row];
+                if (LOG_SCALE[d]) {
+                    value = value > 0 ? Math.log(value) : Double.NaN;
+                }
+                scaled[row] = value;
+                if (!Double.isNaN(value)) {
+                    sum += value;
+                    sumSquares += value * value;
+                    count++;
+                    known[row]++;
+                }
+            }
+            double mean = count > 0 ? sum / count : 0;
+            double variance = count > 0 ? sumSquares / count - mean * mean : 0;
+            double deviation = variance > 0 ? Math.sqrt(variance) : 0;
+            for (int row = 0; row < size; row++) {
+                double value = scaled[row];
+                normalized[row * DIMENSIONS + d] = Double.isNaN(value) || deviation == 0
+                        ? 0f
+                        : (float) ((value - mean) / deviation);
+            }
+        }
+
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (known[row] >= MIN_KNOWN) {
+                count++;
+            }
+        }
+        int[] rows = new int[count];
+        float[] points = new float[count * DIMENSIONS];
+        int next = 0;
+        for (int row = 0; row < size; row++) {
+            if (known[row] >= MIN_KNOWN) {
+                rows[next] = row;
+                System.arraycopy(normalized, row * DIMENSIONS, points, next * DIMENSIONS, DIMENSIONS);
+                next++;
+            }
+        }
+        byte[] splits = new byte[count];
+        buildNode(points, rows, splits, 0, count);
+        return new GpuSimilarityIndex(normalized, points, rows, splits);
+    }
+
+    /** GPUs del árbol que tiene cerca {@code row}, de la más parecida a la menos; nunca incluye {@code row}. */
+    public List<Neighbor> nearest(int row, int k) {
+        if (k < 1 || k > MAX_K) {
+            throw new IllegalArgumentException("k must be between 1 and " + MAX_K);
+        }
+        float[] query = new float[DIMENSIONS];
+        System.arraycopy(normalized, row * DIMENSIONS, query, 0, DIMENSIONS);
+        Heap heap = new Heap(Math.min(k, rows.length));
+        if (heap.capacity > 0) {
+            search(query, row, 0, rows.length, heap);
+        }
+        return heap.sorted();
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    // Corta por la dimensión con más recorrido en el tramo; la mediana queda en mid y cada mitad a su lado
+    private static void buildNode(float[] points, int[] rows, byte[] splits, int lo, int hi) {
+        while (hi - lo > LEAF_SIZE) {
+            int dimension = widestDimension(points, lo, hi);
+            int mid = (lo + hi) >>> 1;
+            select(points, rows, lo, hi - 1, mid, dimension);
+            splits[mid] = (byte) dimension;
+            buildNode(points, rows, splits, lo, mid);
+            lo = mid + 1;
+        }
+    }
+
+    private static int widestDimension(float[] points, int lo, int hi) {
+        int widest = 0;
+        float widestSpread = -1;
+        for (int d = 0; d < DIMENSIONS; d++) {
+            float min = Float.POSITIVE_INFINITY;
+            float max = Float.NEGATIVE_INFINITY;
+            for (int i = lo; i < hi; i++) {
+                float value = points[i * DIMENSIONS + d];
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (max - min > widestSpread) {
+                widestSpread = max - min;
+                widest = d;
+            }
+        }
+        return widest;
+    }
+
+    // Quickselect (Hoare) sobre [left, right]: deja en k el que iría ahí ordenando por dimension
+    private static void select(float[] points, int[] rows, int left, int right, int k, int dimension) {
+        while (right > left) {
+            float pivot = points[((left + right) >>> 1) * DIMENSIONS + dimension];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (points[i * DIMENSIONS + dimension] < pivot) {
+                    i++;
+                }
+                while (points[j * DIMENSIONS + dimension] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(points, rows, i++, j--);
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static void swap(float[] points, int[] rows, int a, int b) {
+        int row = rows[a];
+        rows[a] = rows[b];
+        rows[b] = row;
+        int pa = a * DIMENSIONS;
+        int pb = b * DIMENSIONS;
+        for (int d = 0; d < DIMENSIONS; d++) {
+            float value = points[pa + d];
+            points[pa + d] = points[pb + d];
+            points[pb + d] = value;
+        }
+    }
+
+    private void search(float[] query, int exclude, int lo, int hi, Heap heap) {
+        if (hi - lo <= LEAF_SIZE) {
+            for (int i = lo; i < hi; i++) {
+                offer(query, exclude, i, heap);
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        offer(query, exclude, mid, heap);
+        int dimension = splits[mid];
+        float difference = query[dimension] - points[mid * DIMENSIONS + dimension];
+        if (difference < 0) {
+            search(query, exclude, lo, mid, heap);
+            if (heap.accepts(difference * difference)) {
+                search(query, exclude, mid + 1, hi, heap);
+            }
+        } else {
+            search(query, exclude, mid + 1, hi, heap);
+            if (heap.accepts(difference * difference)) {
+                search(query, exclude, lo, mid, heap);
+            }
+        }
+    }
+
+    private void offer(float[] query, int exclude, int index, Heap heap) {
+        if (rows[index] == exclude) {
+            return;
+        }
+        int base = index * DIMENSIONS;
+        float distance = 0;
+        for (int d = 0; d < DIMENSIONS; d++) {
+            float difference = query[d] - points[base + d];
+            distance += difference * difference;
+        }
+        if (heap.accepts(distance)) {
+            heap.add(distance, rows[index]);
+        }
+    }
+
+    // Montículo de máximos con los k mejores: la raíz es el peor de ellos, el que sale al entrar otro
+    private static final class Heap {
+        private final int capacity;
+        private final float[] distances;
+        private final int[] rows;
+        private int size;
+
+        Heap(int capacity) {
+            this.capacity = capacity;
+            this.distances = new float[capacity];
+            this.rows = new int[capacity];
+        }
+
+        boolean accepts(float distance) {
+            return size < capacity || distance < distances[0];
+        }
+
+        void add(float distance, int row) {
+            int i;
+            if (size < capacity) {
+                i = size++;
+                while (i > 0 && distances[(i - 1) / 2] < distance) {
+                    distances[i] = distances[(i - 1) / 2];
+                    rows[i] = rows[(i - 1) / 2];
+                    i = (i - 1) / 2;
+                }
+            } else {
+                i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && distances[child + 1] > distances[child]) {
+                        child++;
+                    }
+                    if (distances[child] <= distance) {
+                        break;
+                    }
+                    distances[i] = distances[child];
+                    rows[i] = rows[child];
+                    i = child;
+                }
+            }
+            distances[i] = distance;
+            rows[i] = row;
+        }
+
+        // De menor a mayor distancia; empates por fila para que el orden no dependa del árbol
+        List<Neighbor> sorted() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> distances[a] != distances[b]
+                    ? Float.compare(distances[a], distances[b])
+                    : Integer.compare(rows[a], rows[b]));
+            List<Neighbor> neighbors = new ArrayList<>(size);
+            for (int i : order) {
+                neighbors.add(new Neighbor(rows[i], Math.sqrt(distances[i])));
+            }
+            return neighbors;
+        }
+    }
+}
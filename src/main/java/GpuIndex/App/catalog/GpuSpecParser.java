@@ -0,0 +1,136 @@
+package GpuIndex.App.catalog;
+
+import java.util.Locale;
+
+/**
+ * Lee las especificaciones que el catálogo trae como texto libre ("115 W", "0.3 kW", "75-150 W",
+ * "Dual-slot", "2.5-slot", "2023-05-18"). Devuelve NaN cuando no hay dato o no se entiende, igual que
+ * las columnas de {@link GpuColumns}. Se usa al construir las columnas, una vez por catálogo; recorre el texto a mano
+ * (sin expresiones regulares) porque se llama varias veces por GPU.
+ */
+public final class GpuSpecParser {
+
+    // Más cifras no caben en un long; nada del catálogo se acerca
+    private static final long MAX_MANTISSA = 100_000_000_000_000L;
+    private static final int[] DAYS_BEFORE_MONTH = {0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334};
+
+    private GpuSpecParser() {
+    }
+
+    /** Potencia en vatios. En un rango ("75-150 W") vale el máximo, que es lo que hay que alimentar. */
+    public static double watts(String text) {
+        double value = largestNumber(text);
+        if (Double.isNaN(value)) {
+            return Double.NaN;
+        }
+        if (containsIgnoreCase(text, "kw")) {
+            value *= 1000;
+        }
+        return value > 0 ? value : Double.NaN;
+    }
+
+    /** Ranuras que ocupa la tarjeta; NaN para IGP, módulos MXM y lo que no diga un número de ranuras. */
+    public static double slots(String text) {
+        if (text == null) {
+            return Double.NaN;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        if (!lower.contains("slot")) {
+            return Double.NaN;
+        }
+        double value = largestNumber(lower);
+        if (!Double.isNaN(value)) {
+            return value > 0 ? value : Double.NaN;
+        }
+        if (lower.startsWith("single")) {
+            return 1;
+        }
+        if (lower.startsWith("dual") || lower.startsWith("double")) {
+            return 2;
+        }
+        if (lower.startsWith("triple")) {
+            return 3;
+        }
+        if (lower.startsWith("quad")) {
+            return 4;
+        }
+        return Double.NaN;
+    }
+
+    /** Fecha de lanzamiento "2023-05-18" (o solo "2023") como año con decimales: 2023.38. */
+    public static double year(String date) {
+        if (date == null) {
+            return Double.NaN;
+        }
+        String text = date.trim();
+        if (text.length() < 4 || !isDigit(text, 0) || !isDigit(text, 1) || !isDigit(text, 2) || !isDigit(text, 3)
+                || isDigit(text, 4)) {
+            return Double.NaN;
+        }
+        int year = Integer.parseInt(text, 0, 4, 10);
+        if (text.length() < 10 || text.charAt(4) != '-' || text.charAt(7) != '-'
+                || !isDigit(text, 5) || !isDigit(text, 6) || !isDigit(text, 8) || !isDigit(text, 9)) {
+            return year;
+        }
+        int month = Integer.parseInt(text, 5, 7, 10);
+        int day = Integer.parseInt(text, 8, 10, 10);
+        if (month < 1 || month > 12 || day < 1 || day > 31) {
+            return year;
+        }
+        return year + (DAYS_BEFORE_MONTH[month - 1] + day - 1) / 365.0;
+    }
+
+    // "1,000" es un millar; "0,5" un decimal
+    private static double largestNumber(String text) {
+        if (text == null) {
+            return Double.NaN;
+        }
+        double largest = Double.NaN;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            if (!isDigit(text, i)) {
+                i++;
+                continue;
+            }
+            long mantissa = 0;
+            while (isDigit(text, i) && mantissa < MAX_MANTISSA) {
+                mantissa = mantissa * 10 + (text.charAt(i++) - '0');
+            }
+            while (i < length && text.charAt(i) == ',' && isDigit(text, i + 1) && isDigit(text, i + 2)
+                    && isDigit(text, i + 3) && !isDigit(text, i + 4)) {
+                mantissa = mantissa * 1000 + Integer.parseInt(text, i + 1, i + 4, 10);
+                i += 4;
+            }
+            long scale = 1;
+            if (i < length && (text.charAt(i) == '.' || text.charAt(i) == ',') && isDigit(text, i + 1)) {
+                i++;
+                while (isDigit(text, i)) {
+                    if (mantissa < MAX_MANTISSA) {
+                        mantissa = mantissa * 10 + (text.charAt(i) - '0');
+                        scale *= 10;
+                    }
+                    i++;
+                }
+            }
+            double value = (double) mantissa / scale;
+            if (Double.isNaN(largest) || value > largest) {
+                largest = value;
+            }
+        }
+        return largest;
+    }
+
+    private static boolean isDigit(String text, int index) {
+        return index < text.length() && text.charAt(index) >= '0' && text.charAt(index) <= '9';
+    }
+
+    private static boolean containsIgnoreCase(String text, String part) {
+        for (int i = 0; i + part.length() <= text.length(); i++) {
+            if (text.regionMatches(true, i, part, 0, part.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
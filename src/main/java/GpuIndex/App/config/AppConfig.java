@@ -1,5 +1,6 @@
 package GpuIndex.App.config;
 
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
@@ -7,6 +8,7 @@ import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 
 @Configuration
+@EnableCaching
 public class AppConfig {
 
     @Bean
@@ -29,7 +31,9 @@ public class AppConfig {
         System.out.println(" search <terms> [-a]         Search GPUs (-a to auto add)");
         System.out.println(" gpu show <number>           Show details by result number");
         System.out.println(" gpu compare <gpu1> <gpu2>   Compare two GPUs");
+        System.out.println(" filter <conditions>         Filter by specs (vram>=12 ...)");
         System.out.println(" results                     Show last search results");
+        System.out.println(" results --next              Show next page of results");
         System.out.println(" list new <name>             Create new list");
         System.out.println(" gpu add <number|name>       Add GPU to list");
         System.out.println(" list status                 Current list status");
@@ -46,6 +50,8 @@ public class AppConfig {
         System.out.println(" list load                   Reload lists from files");
         System.out.println(" fullhelp                    Full help");
         System.out.println(" suggest                     Contextual suggestions");
+        System.out.println(" catalog reload              Reload GPU catalog");
+        System.out.println(" catalog compile             Compile catalog to binary snapshot");
         System.out.println(" status                      System status");
         System.out.println(" exitnow                      Exit");
         System.out.println("================================================");
@@ -0,0 +1,142 @@
+package GpuIndex.App.config;
+
+import GpuIndex.App.catalog.CatalogSnapshot;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timers, histogramas y gauges de la aplicación (se ven en /actuator/metrics y en 'status').
+ * Los timers de búsqueda y detalles solo miden el trabajo real: los aciertos de caché no llegan
+ * al método y se cuentan en las métricas cache.gets.
+ */
+@Component
+public class AppMetrics {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry registry;
+    private final Timer search;
+    private final Timer details;
+    private final Timer detailsBatch;
+    private final Timer comparison;
+    private final Timer similar;
+    private final Timer listPersist;
+    private final DistributionSummary listPersistBytes;
+
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
+    public AppMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.search = timer("gpu.search", "Búsqueda en el índice del catálogo");
+        this.details = timer("gpu.details", "Consulta de una GPU por nombre o URL");
+        this.detailsBatch = timer("gpu.details.batch", "Consulta de varias GPUs en una petición");
+        this.comparison = timer("gpu.comparison", "Comparación de GPUs");
+        this.similar = timer("gpu.similar", "Búsqueda de GPUs parecidas");
+        this.listPersist = timer("gpu.lists.persist", "Guardado de una lista en disco");
+        this.listPersistBytes = DistributionSummary.builder("gpu.lists.persist.bytes")
+                .description("Tamaño del fichero de lista escrito")
+                .baseUnit("bytes")
+                .publishPercentiles(PERCENTILES)
+                .register(registry);
+    }
+
+    private Timer timer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    // Los gauges guardan una referencia débil a su objeto: sin strongReference el supplier se recolecta
+    public void bindCatalog(Supplier<CatalogSnapshot> catalog) {
+        Gauge.builder("gpu.catalog.size", catalog, c -> c.get().size())
+                .description("GPUs en el catálogo publicado")
+                .strongReference(true)
+                .register(registry);
+        Gauge.builder("gpu.catalog.version", catalog, c -> c.get().version())
+                .description("Versión del catálogo publicado")
+                .strongReference(true)
+                .register(registry);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public Timer search() {
+        return search;
+    }
+
+    public Timer details() {
+        return details;
+    }
+
+    public Timer detailsBatch() {
+        return detailsBatch;
+    }
+
+    public Timer comparison() {
+        return comparison;
+    }
+
+    public Timer similar() {
+        return similar;
+    }
+
+    public Timer listPersist() {
+        return listPersist;
+    }
+
+    public DistributionSummary listPersistBytes() {
+        return listPersistBytes;
+    }
+
+    // source = list | catalog; format = json | xlsx | ...
+    public Timer export(String source, String format) {
+        return Timer.builder("gpu.export")
+                .description("Exportación de listas y del catálogo")
+                .tag("source", source)
+                .tag("format", format.toLowerCase())
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /** Estadísticas de Caffeine de la caché, o null si no existe o no graba estadísticas. */
+    public CacheStats cacheStats(String cacheName) {
+        Cache cache = cacheManager != null ? cacheManager.getCache(cacheName) : null;
+        if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            return nativeCache.policy().isRecordingStats() ? nativeCache.stats() : null;
+        }
+        return null;
+    }
+
+    /** "n=12 mean=0.84 ms p95=1.20 ms max=3.10 ms", o "n=0" si aún no hay medidas. */
+    public static String describe(Timer timer) {
+        if (timer.count() == 0) {
+            return "n=0";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("n=%d mean=%.2f ms", timer.count(), timer.mean(TimeUnit.MILLISECONDS)));
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.95) {
+                sb.append(String.format(" p95=%.2f ms", percentile.value(TimeUnit.MILLISECONDS)));
+            }
+        }
+        sb.append(String.format(" max=%.2f ms", timer.max(TimeUnit.MILLISECONDS)));
+        return sb.toString();
+    }
+}
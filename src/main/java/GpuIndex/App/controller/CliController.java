@@ -1,11 +1,20 @@
 package GpuIndex.App.controller;
 
+import GpuIndex.App.catalog.CatalogSnapshot;
+import GpuIndex.App.catalog.GpuComparison;
+import GpuIndex.App.catalog.GpuFilter;
+import GpuIndex.App.catalog.GpuMetric;
+import GpuIndex.App.catalog.GpuSimilarityIndex;
+import GpuIndex.App.config.AppMetrics;
 import GpuIndex.App.model.Gpu;
+import GpuIndex.App.model.GpuFields;
 import GpuIndex.App.service.AdvancedListManager;
 import GpuIndex.App.service.DbService;
 import GpuIndex.App.service.GpuComparisonService;
 import GpuIndex.App.service.GpuFileService;
-import GpuIndex.App.session.UserSession;
+import GpuIndex.App.service.GpuImportService;
+import GpuIndex.App.session.SessionRegistry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.shell.standard.ShellComponent;
@@ -13,6 +22,8 @@ import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellOption;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -30,11 +41,16 @@ public class CliController {
     @Autowired
     private ApplicationContext context;
     @Autowired
-    private UserSession userSession;
+    private SessionRegistry sessions;
     @Autowired
     private AdvancedListManager listManager;
+    @Autowired
+    private AppMetrics metrics;
+    @Autowired
+    private GpuImportService importService;
 
     private static final int MAX_LIST_SIZE = 10;
+    private static final int MAX_SEARCH_RESULTS = 30;
 
     // HELP SYSTEM
     @ShellMethod(key = "fullhelp", value = "Show full help with examples")
@@ -47,8 +63,12 @@ public class CliController {
         sb.append("[SEARCH AND QUERY]\n");
         sb.append("   search <terms> [-a]         Search GPUs (-a to auto add)\n");
         sb.append("   gpu show <number>           Show details by result number\n");
+        sb.append("   gpu show <number> -f <a,b>  Show only some fields (name,tdp,...)\n");
         sb.append("   gpu compare <gpu1> <gpu2>   Compare two GPUs\n");
-        sb.append("   results                    Show last search results\n\n");
+        sb.append("   gpu similar <number|name>   GPUs with the closest specs (-k count)\n");
+        sb.append("   filter <conditions>         Filter by specs (vram>=12 ...)\n");
+        sb.append("   results                    Show last search results\n");
+        sb.append("   results --next             Show next page of results\n\n");
 
         sb.append("[LIST MANAGEMENT]\n");
         sb.append("   list new <name>             Create new list\n");
@@ -61,19 +81,25 @@ public class CliController {
         sb.append("   gpu remove -m <numbers>     Remove multiple GPUs\n");
         sb.append("   list clear                 Clear current list\n");
         sb.append("   list all                   Show all saved lists\n");
+        sb.append("   list compare [name] [-m ..] Compare all GPUs of a list\n");
         sb.append("   list switch <name>          Switch to existing list\n");
         sb.append("   list remove <name>          Delete list permanently\n");
         sb.append("   list rename <old> <new>     Rename list\n");
+        sb.append("   list sync                   Write pending changes to disk\n");
         sb.append("   list load                  Reload lists from files\n\n");
 
         sb.append("[HELP SYSTEM]\n");
         sb.append("   help                      Full help\n");
         sb.append("   suggest                   Contextual suggestions\n");
         sb.append("   status                    System status\n");
+        sb.append("   catalog reload            Reload GPU catalog\n");
+        sb.append("   catalog compile           Compile catalog to binary snapshot\n");
+        sb.append("   db import [-f file]       Import catalog into gpus.db\n");
         sb.append("   exit                      Exit\n\n");
 
         sb.append("[PRACTICAL EXAMPLES]\n");
         sb.append("   search \"rtx 4060\"          Search GPUs\n");
+        sb.append("   filter vram>=12 bandwidth>=500  GPUs with 12GB+ and 500GB/s+\n");
         sb.append("   gpu show 1                  Show details of first result\n");
         sb.append("   gpu add 1                   Add first result to list\n");
         sb.append("   list new \"My Comparison\"  Create list\n");
@@ -94,10 +120,12 @@ public class CliController {
     @ShellMethod(key = "search", value = "Search GPUs in database")
     public String searchGpus(@ShellOption(arity = Integer.MAX_VALUE) String[] queryParts) {
         String query = String.join(" ", queryParts);
-        userSession.setLastQuery(query);
+        sessions.cli().setLastQuery(query);
 
-        List<Map<String, String>> searchResults = dbService.searchGpuResults(query);
-        userSession.setLastSearchResults(searchResults);
+        DbService.SearchPage page = dbService.searchPage(query, null, MAX_SEARCH_RESULTS);
+        List<Map<String, String>> searchResults = page.results();
+        sessions.cli().setLastSearchResults(searchResults);
+        sessions.cli().setNextCursor(page.nextCursor());
 
         if (searchResults.isEmpty()) {
             return "[ERROR] No results found for: " + query;
@@ -105,7 +133,11 @@ public class CliController {
 
         StringBuilder sb = new StringBuilder();
         sb.append("[RESULTS FOR] '").append(query).append("'\n");
-        sb.append("[Total found] ").append(searchResults.size()).append(" GPUs\n");
+        sb.append("[Total found] ").append(page.total()).append(" GPUs");
+        if (page.hasMore()) {
+            sb.append(" (showing best ").append(searchResults.size()).append(")");
+        }
+        sb.append("\n");
         sb.append("-".repeat(60)).append("\n");
 
         for (int i = 0; i < searchResults.size(); i++) {
@@ -115,7 +147,7 @@ public class CliController {
         }
 
         // TOO GENERAL SEARCH DETECTION
-        if (searchResults.size() >= 30) {
+        if (page.hasMore()) {
             sb.append("\n[WARNING] TOO GENERAL SEARCH\n");
             sb.append("-".repeat(60)).append("\n");
             sb.append(getSearchSuggestions(query));
@@ -123,6 +155,9 @@ public class CliController {
 
         sb.append("\nUse 'gpu show <number>' to view details.");
         sb.append("\nUse 'gpu add <full name>' to add to list.");
+        if (page.hasMore()) {
+            sb.append("\nUse 'results --next' to see more results.");
+        }
 
         return sb.toString();
     }
@@ -168,9 +203,96 @@ public class CliController {
         return suggestions.toString();
     }
 
+    @ShellMethod(key = "filter", value = "Filter GPUs by numeric specs")
+    public String filterGpus(
+            @ShellOption(arity = Integer.MAX_VALUE, defaultValue = ShellOption.NULL) String[] conditionParts,
+            @ShellOption(value = {"-l", "--limit"}, defaultValue = "30") int limit,
+            @ShellOption(value = {"-f", "--fields"}, defaultValue = ShellOption.NULL) String fields,
+            @ShellOption(value = {"-s", "--sort"}, defaultValue = ShellOption.NULL) String sort) {
+
+        if ((conditionParts == null || conditionParts.length == 0) && sort == null) {
+            return getFilterHelp();
+        }
+
+        String expression = conditionParts != null ? String.join(" ", conditionParts) : "";
+        GpuFilter filter;
+        GpuFields.Projection projection;
+        GpuMetric sortBy;
+        try {
+            filter = GpuFilter.parse(expression);
+            projection = fields != null ? GpuFields.projection(fields) : null;
+            sortBy = sort != null ? GpuMetric.fromName(sort) : null;
+        } catch (IllegalArgumentException e) {
+            return "[ERROR] " + e.getMessage() + "\n" + getFilterHelp();
+        }
+
+        List<Gpu> gpus = dbService.filterGpus(filter, sortBy, limit);
+        if (gpus.isEmpty()) {
+            return "[ERROR] No GPUs match: " + filter;
+        }
+
+        List<Map<String, String>> results = new ArrayList<>(gpus.size());
+        gpus.forEach(gpu -> results.add(dbService.toSearchResult(gpu)));
+        sessions.cli().setLastQuery("filter " + expression);
+        sessions.cli().setLastSearchResults(results);
+
+        List<String> columnNames = projection != null ? projection.names() : List.of();
+        StringBuilder sb = new StringBuilder();
+        sb.append("[FILTER] ").append(filter).append("\n");
+        sb.append("[Total found] ").append(gpus.size()).append(" GPUs").append(gpus.size() >= limit ? " (limit reached)" : "").append("\n");
+        sb.append("-".repeat(60)).append("\n");
+
+        for (int i = 0; i < gpus.size(); i++) {
+            Gpu gpu = gpus.get(i);
+            String displayName = gpu.getName().length() > 40 ? gpu.getName().substring(0, 37) + "..." : gpu.getName();
+            sb.append(String.format("%2d. %-40s", i + 1, displayName));
+            if (projection != null) {
+                for (int column = 0; column < projection.size(); column++) {
+                    sb.append(" ").append(columnNames.get(column)).append("=").append(projection.value(gpu, column));
+                }
+                sb.append("\n");
+                continue;
+            }
+            for (GpuFilter.Range range : filter.ranges()) {
+                appendMetric(sb, range.metric(), gpu);
+            }
+            if (sortBy != null && filter.ranges().stream().noneMatch(range -> range.metric() == sortBy)) {
+                appendMetric(sb, sortBy, gpu);
+            }
+            sb.append("\n");
+        }
+
+        sb.append("\nUse 'gpu show <number>' to view details.");
+        return sb.toString();
+    }
+
+    private static void appendMetric(StringBuilder sb, GpuMetric metric, Gpu gpu) {
+        double value = metric.valueOf(gpu);
+        String text = Double.isNaN(value) ? "N/A"
+                : value == Math.rint(value) ? String.valueOf((long) value)
+                : String.valueOf(Math.round(value * 100) / 100.0);
+        sb.append(String.format(" %s=%s%s", metric.aliases().get(0), text, Double.isNaN(value) ? "" : metric.unit()));
+    }
+
+    private String getFilterHelp() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Usage: filter <metric><op><value> [...] [-l <limit>] [-f <field,field>] [-s <metric>]\n");
+        sb.append("Operators: >=  <=  >  <  =  (range: metric=min..max)\n");
+        sb.append("Example: filter vram>=12 bandwidth>=500\n");
+        sb.append("Sort:    filter tdp<=200 -s efficiency   (best first)\n");
+        sb.append("Metrics:\n");
+        for (GpuMetric metric : GpuMetric.values()) {
+            sb.append(String.format("  %-16s %-34s %s\n", metric.aliases().get(0), metric.key(), metric.unit()));
+        }
+        return sb.toString();
+    }
+
     @ShellMethod(key = "results", value = "Show last search results")
-    public String showLastResults() {
-        List<Map<String, String>> lastSearchResults = userSession.getLastSearchResults();
+    public String showLastResults(@ShellOption(value = {"-n", "--next"}, defaultValue = "false") boolean next) {
+        if (next) {
+            return showNextResults();
+        }
+        List<Map<String, String>> lastSearchResults = sessions.cli().getLastSearchResults();
 
         if (lastSearchResults.isEmpty()) {
             return "[INFO] No recent search results.\n" +
@@ -179,7 +301,7 @@ public class CliController {
         }
 
         StringBuilder sb = new StringBuilder();
-        sb.append("[LAST SEARCH] '").append(userSession.getLastQuery()).append("'\n");
+        sb.append("[LAST SEARCH] '").append(sessions.cli().getLastQuery()).append("'\n");
         sb.append("-".repeat(60)).append("\n");
 
         for (int i = 0; i < lastSearchResults.size(); i++) {
@@ -193,14 +315,50 @@ public class CliController {
         sb.append("  'gpu add 1' - Add first GPU to your list\n");
         sb.append("  'gpu add \"Exact Name\"' - Add specific GPU\n");
         sb.append("  'search \"new terms\"' - Perform another search\n");
+        if (sessions.cli().getNextCursor() != null) {
+            sb.append("  'results --next' - Show more results\n");
+        }
 
         return sb.toString();
     }
 
+    // Siguiente página de la última búsqueda; se añade a los resultados para que 'gpu show <n>' siga valiendo
+    private String showNextResults() {
+        String cursor = sessions.cli().getNextCursor();
+        if (cursor == null) {
+            return "[INFO] No more results for the last search.";
+        }
+        DbService.SearchPage page;
+        try {
+            page = dbService.searchPage(sessions.cli().getLastQuery(), cursor, MAX_SEARCH_RESULTS);
+        } catch (IllegalArgumentException e) {
+            sessions.cli().setNextCursor(null);
+            return "[ERROR] " + e.getMessage();
+        }
+
+        int first = sessions.cli().getSearchResultsSize() + 1;
+        sessions.cli().appendSearchResults(page.results());
+        sessions.cli().setNextCursor(page.nextCursor());
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("[MORE RESULTS FOR] '").append(sessions.cli().getLastQuery()).append("' (")
+                .append(first).append("-").append(first + page.results().size() - 1)
+                .append(" of ").append(page.total()).append(")\n");
+        sb.append("-".repeat(60)).append("\n");
+        for (int i = 0; i < page.results().size(); i++) {
+            String gpuName = page.results().get(i).get("title");
+            String displayName = gpuName.length() > 50 ? gpuName.substring(0, 47) + "..." : gpuName;
+            sb.append(String.format("%2d. %s\n", first + i, displayName));
+        }
+        sb.append(page.hasMore() ? "\nUse 'results --next' to see more results." : "\n[END OF RESULTS]");
+        return sb.toString();
+    }
+
     // GPU DETAILS SYSTEM
     @ShellMethod(key = "gpu show", value = "Show GPU details by search index")
-    public String gpuShow(@ShellOption int index) {
-        List<Map<String, String>> lastSearchResults = userSession.getLastSearchResults();
+    public String gpuShow(@ShellOption int index,
+                          @ShellOption(value = {"-f", "--fields"}, defaultValue = ShellOption.NULL) String fields) {
+        List<Map<String, String>> lastSearchResults = sessions.cli().getLastSearchResults();
 
         if (lastSearchResults.isEmpty()) {
             return "[ERROR] No recent searches. Use 'search <query>' first.";
@@ -214,10 +372,63 @@ public class CliController {
 
         try {
             Gpu gpu = dbService.getGpuDetails(gpuName);
-            return formatGpuDetails(gpu);
+            return fields == null ? formatGpuDetails(gpu) : formatGpuFields(gpu, GpuFields.projection(fields));
         } catch (IOException e) {
             return "[ERROR] Error getting details for: '" + gpuName + "'";
+        } catch (IllegalArgumentException e) {
+            return "[ERROR] " + e.getMessage() + "\nAvailable fields: " + String.join(", ", GpuFields.names());
+        }
+    }
+
+    // Un número es la posición en los últimos resultados; si no, el nombre de la GPU
+    @ShellMethod(key = "gpu similar", value = "Show the GPUs most similar to one")
+    public String gpuSimilar(@ShellOption(arity = Integer.MAX_VALUE) String[] gpuQueryParts,
+                             @ShellOption(value = {"-k", "--count"}, defaultValue = "10") int k) {
+        String gpuQuery = String.join(" ", gpuQueryParts);
+        List<Map<String, String>> lastSearchResults = sessions.cli().getLastSearchResults();
+        if (gpuQuery.matches("\\d+") && !lastSearchResults.isEmpty()) {
+            int index = Integer.parseInt(gpuQuery);
+            if (index < 1 || index > lastSearchResults.size()) {
+                return String.format("[ERROR] Invalid index. Must be between 1 and %d.", lastSearchResults.size());
+            }
+            gpuQuery = lastSearchResults.get(index - 1).get("title");
+        }
+
+        DbService.SimilarGpus result;
+        try {
+            result = dbService.findSimilar(gpuQuery, k);
+        } catch (IOException e) {
+            return "[ERROR] GPU not found: '" + gpuQuery + "'";
+        } catch (IllegalArgumentException e) {
+            return "[ERROR] " + e.getMessage();
+        }
+        if (result.similar().isEmpty()) {
+            return "[INFO] No similar GPUs for: '" + result.gpu().getName() + "'";
+        }
+
+        List<Map<String, String>> results = new ArrayList<>(result.similar().size());
+        result.similar().forEach(similar -> results.add(dbService.toSearchResult(similar.gpu())));
+        sessions.cli().setLastQuery("similar " + result.gpu().getName());
+        sessions.cli().setLastSearchResults(results);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("[SIMILAR TO] ").append(result.gpu().getName());
+        for (GpuMetric metric : GpuSimilarityIndex.FEATURES) {
+            appendMetric(sb, metric, result.gpu());
+        }
+        sb.append("\n").append("-".repeat(60)).append("\n");
+        for (int i = 0; i < result.similar().size(); i++) {
+            DbService.SimilarGpu similar = result.similar().get(i);
+            Gpu gpu = similar.gpu();
+            String displayName = gpu.getName().length() > 40 ? gpu.getName().substring(0, 37) + "..." : gpu.getName();
+            sb.append(String.format("%2d. %-40s d=%.3f", i + 1, displayName, similar.distance()));
+            for (GpuMetric metric : GpuSimilarityIndex.FEATURES) {
+                appendMetric(sb, metric, gpu);
+            }
+            sb.append("\n");
         }
+        sb.append("\nUse 'gpu show <number>' to view details.");
+        return sb.toString();
     }
 
     // COMPARISON SYSTEM
@@ -236,14 +447,18 @@ public class CliController {
     @ShellMethod(key = "list new", value = "Create new list")
     public String listNew(@ShellOption(arity = Integer.MAX_VALUE) String[] listNameParts) {
         String listName = String.join(" ", listNameParts);
-        return listManager.createList(listName);
+        try {
+            return listManager.createList(sessions.cli(), listName);
+        } catch (IllegalArgumentException e) {
+            return "[ERROR] " + e.getMessage();
+        }
     }
 
     @ShellMethod(key = "gpu add", value = "Add GPU to current list")
     public String listAdd(@ShellOption(arity = Integer.MAX_VALUE) String[] gpuQueryParts) {
         String gpuQuery = String.join(" ", gpuQueryParts);
         try {
-            return listManager.addToCurrentList(gpuQuery);
+            return listManager.addToCurrentList(sessions.cli(), gpuQuery);
         } catch (IOException e) {
             return "[ERROR] Error: " + e.getMessage();
         }
@@ -251,7 +466,7 @@ public class CliController {
 
     @ShellMethod(key = "list status", value = "Current list status")
     public String listStatus() {
-        String status = listManager.listStatus();
+        String status = listManager.listStatus(sessions.cli());
 
         if (status.contains("Active list: None")) {
             return status + "\nUse 'list all' to see saved lists";
@@ -262,7 +477,7 @@ public class CliController {
 
     @ShellMethod(key = "list show", value = "Show detailed list content")
     public String listShow() {
-        return listManager.showListDetails();
+        return listManager.showListDetails(sessions.cli());
     }
 
     @ShellMethod(key = "list export", value = "Export list to file")
@@ -271,7 +486,7 @@ public class CliController {
             @ShellOption(value = {"-o", "--output"}, defaultValue = ShellOption.NULL) String outputFile) {
 
         try {
-            return listManager.saveList(format, outputFile);
+            return listManager.saveList(sessions.cli(), format, outputFile);
         } catch (IOException e) {
             return "[ERROR] Error exporting: " + e.getMessage();
         }
@@ -309,17 +524,17 @@ public String listRemove(
     }
 
     if (index != null) {
-        return listManager.removeGpuFromList(index);
+        return listManager.removeGpuFromList(sessions.cli(), index);
     }
 
     if (gpuNameParts != null) {
         String gpuName = String.join(" ", gpuNameParts);
-        return listManager.removeGpuFromList(gpuName);
+        return listManager.removeGpuFromList(sessions.cli(), gpuName);
     }
 
     if (indices != null && indices.length > 0) {
         int[] primitiveIndices = Arrays.stream(indices).mapToInt(Integer::intValue).toArray();
-        return listManager.removeGpusFromList(primitiveIndices);
+        return listManager.removeGpusFromList(sessions.cli(), primitiveIndices);
     }
 
     return "[ERROR] Invalid option";
@@ -327,25 +542,54 @@ public String listRemove(
 
     @ShellMethod(key = "list clear", value = "Clear current list")
     public String listClear() {
-        listManager.clearCurrentList();
+        listManager.clearCurrentList(sessions.cli());
         return "[SUCCESS] Current list cleared.";
     }
 
+    @ShellMethod(key = "list compare", value = "Compare every GPU of a list, metric by metric")
+    public String listCompare(
+            @ShellOption(arity = Integer.MAX_VALUE, defaultValue = ShellOption.NULL) String[] listNameParts,
+            @ShellOption(value = {"-m", "--metrics"}, defaultValue = ShellOption.NULL) String metricNames) {
+
+        String listName = listNameParts != null ? String.join(" ", listNameParts) : null;
+        List<String> gpuNames = listManager.getGpuNames(sessions.cli(), listName);
+        if (gpuNames == null) {
+            return listName != null
+                    ? "[ERROR] List '" + listName + "' not found"
+                    : "[ERROR] No active list. Use 'list new <name>' or 'list compare <name>'";
+        }
+        // Solo si gpu.lists.max-size se ha subido por encima del límite de la comparación
+        if (gpuNames.size() > GpuComparison.MAX_GPUS) {
+            return String.format("[ERROR] This list has %d GPUs; 'list compare' can compare at most %d. "
+                    + "Export it with 'list export' instead.", gpuNames.size(), GpuComparison.MAX_GPUS);
+        }
+        try {
+            List<GpuMetric> metrics = metricNames != null
+                    ? GpuMetric.parseList(metricNames)
+                    : GpuComparisonService.DEFAULT_METRICS;
+            GpuComparison.Matrix matrix = comparisonService.compareAll(gpuNames, metrics);
+            String title = listName != null ? listName : sessions.cli().getCurrentListName();
+            return comparisonService.renderMatrix(title, matrix);
+        } catch (IllegalArgumentException e) {
+            return "[ERROR] " + e.getMessage();
+        }
+    }
+
     @ShellMethod(key = "list all", value = "Show all saved lists")
     public String listAll() {
-        return listManager.listAllLists();
+        return listManager.listAllLists(sessions.cli());
     }
 
     @ShellMethod(key = "list switch", value = "Switch to an existing list")
     public String listSwitch(@ShellOption(arity = Integer.MAX_VALUE) String[] listNameParts) {
         String listName = String.join(" ", listNameParts);
-        return listManager.switchList(listName);
+        return listManager.switchList(sessions.cli(), listName);
     }
 
     @ShellMethod(key = "list delete", value = "Permanently delete a list")
     public String listDelete(@ShellOption(arity = Integer.MAX_VALUE) String[] listNameParts) {
         String listName = String.join(" ", listNameParts);
-        return listManager.deleteList(listName);
+        return listManager.deleteList(sessions.cli(), listName);
     }
 
     @ShellMethod(key = "list rename", value = "Rename a list")
@@ -355,7 +599,21 @@ public String listRemove(
 
         String oldName = String.join(" ", oldNameParts);
         String newName = String.join(" ", newNameParts);
-        return listManager.renameList(oldName, newName);
+        try {
+            return listManager.renameList(sessions.cli(), oldName, newName);
+        } catch (IllegalArgumentException e) {
+            return "[ERROR] " + e.getMessage();
+        }
+    }
+
+    @ShellMethod(key = "list sync", value = "Write pending list changes to disk now")
+    public String listSync() {
+        try {
+            int written = listManager.sync();
+            return "[SUCCESS] Lists synced to disk (" + written + " list" + (written != 1 ? "s" : "") + " written).";
+        } catch (IOException e) {
+            return "[ERROR] Error syncing lists: " + e.getMessage();
+        }
     }
 
     @ShellMethod(key = "list load", value = "Load lists from files")
@@ -369,31 +627,87 @@ public String listRemove(
         StringBuilder sb = new StringBuilder();
         sb.append("[SYSTEM STATUS]\n");
         sb.append("-".repeat(50)).append("\n");
-        sb.append("Last search: '").append(userSession.getLastQuery().isEmpty() ? "None" : userSession.getLastQuery()).append("'\n");
-        sb.append("Saved results: ").append(userSession.getSearchResultsSize()).append("\n");
+        sb.append("Last search: '").append(sessions.cli().getLastQuery().isEmpty() ? "None" : sessions.cli().getLastQuery()).append("'\n");
+        sb.append("Saved results: ").append(sessions.cli().getSearchResultsSize()).append("\n");
 
         // List status
-        String listStatus = listManager.listStatus();
+        String listStatus = listManager.listStatus(sessions.cli());
         if (listStatus.contains("Active list: none")) {
             sb.append("Active list: None\n");
         } else {
             sb.append(listStatus).append("\n");
         }
 
-        try {
-            int dbCount = dbService.searchGpuResults("").size();
-            sb.append("Database: ").append(dbCount).append(" GPUs\n");
-        } catch (Exception e) {
-            sb.append("Database: Access error\n");
+        sb.append("Sessions: ").append(sessions.activeSessions()).append(" (shell + REST clients)\n");
+
+        CatalogSnapshot snapshot = dbService.getSnapshot();
+        sb.append("Database: ").append(snapshot.size()).append(" GPUs\n");
+        sb.append("Catalog: v").append(snapshot.version()).append(" from ").append(snapshot.source())
+                .append(" (loaded ").append(snapshot.loadedAt()).append(")\n");
+
+        // Metrics (also on /actuator/metrics)
+        sb.append("-".repeat(50)).append("\n");
+        sb.append("Search:      ").append(AppMetrics.describe(metrics.search())).append("\n");
+        sb.append("Details:     ").append(AppMetrics.describe(metrics.details())).append("\n");
+        sb.append("Comparison:  ").append(AppMetrics.describe(metrics.comparison())).append("\n");
+        sb.append("Similar:     ").append(AppMetrics.describe(metrics.similar())).append("\n");
+        sb.append("List saves:  ").append(AppMetrics.describe(metrics.listPersist()));
+        if (metrics.listPersistBytes().count() > 0) {
+            sb.append(String.format(" (avg %.0f bytes)", metrics.listPersistBytes().mean()));
+        }
+        sb.append("\n");
+        for (String cacheName : List.of("gpuSearch", "gpuSearchPages", "gpuDetails", "gpuComparisons")) {
+            CacheStats stats = metrics.cacheStats(cacheName);
+            if (stats != null) {
+                String hitRate = stats.requestCount() == 0 ? "-" : String.format("%.0f%%", stats.hitRate() * 100);
+                sb.append(String.format("Cache %-16s hits=%d misses=%d hit rate=%s evictions=%d\n",
+                        cacheName + ":", stats.hitCount(), stats.missCount(), hitRate, stats.evictionCount()));
+            }
         }
 
         sb.append("-".repeat(50)).append("\n");
         return sb.toString();
     }
 
+    @ShellMethod(key = "catalog reload", value = "Reload the GPU catalog")
+    public String catalogReload() {
+        long previousVersion = dbService.getCatalogVersion();
+        try {
+            CatalogSnapshot snapshot = dbService.reloadCatalog();
+            return String.format("[SUCCESS] Catalog v%d loaded from %s (%d GPUs), replaces v%d",
+                    snapshot.version(), snapshot.source(), snapshot.size(), previousVersion);
+        } catch (IOException e) {
+            return "[ERROR] Could not reload catalog, keeping v" + previousVersion + ": " + e.getMessage();
+        }
+    }
+
+    @ShellMethod(key = "catalog compile", value = "Compile the JSON catalog into a memory-mapped snapshot")
+    public String catalogCompile() {
+        try {
+            long start = System.currentTimeMillis();
+            DbService.CompiledCatalog compiled = dbService.compileCatalog();
+            return String.format("[SUCCESS] %d GPUs from %s compiled to %s in %d ms (used on next start or 'catalog reload')",
+                    compiled.catalog().size(), compiled.catalog().source(), compiled.file(), System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            return "[ERROR] Could not compile catalog: " + e.getMessage();
+        }
+    }
+
+    @ShellMethod(key = "db import", value = "Import the JSON catalog into gpus.db (upsert by id)")
+    public String dbImport(@ShellOption(value = {"-f", "--file"}, defaultValue = ShellOption.NULL) String file) {
+        try {
+            GpuImportService.ImportResult result = importService.importCatalog(file != null ? Path.of(file) : null);
+            return String.format("[SUCCESS] %d GPUs from %s imported into gpus.db in %d ms (%d rows/s)%s",
+                    result.rows(), result.source(), result.millis(), result.rowsPerSecond(),
+                    result.skipped() > 0 ? ", " + result.skipped() + " skipped without id" : "");
+        } catch (IOException e) {
+            return "[ERROR] Could not import catalog: " + e.getMessage();
+        }
+    }
+
     @ShellMethod(key = "config clear", value = "Clear configuration")
     public String configClear() {
-        userSession.clear();
+        sessions.cli().clear();
         return "[SUCCESS] Configuration cleared. Ready for new session.";
     }
 
@@ -404,6 +718,16 @@ public String listRemove(
     }
 
     // HELPER METHODS
+    private String formatGpuFields(Gpu gpu, GpuFields.Projection projection) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("DETAILS FOR: ").append(gpu.getName()).append("\n");
+        sb.append("=".repeat(60)).append("\n");
+        projection.apply(gpu).forEach((field, value) ->
+                sb.append(String.format("%-34s %s\n", field + ":", value != null ? value : "N/A")));
+        sb.append("=".repeat(60));
+        return sb.toString();
+    }
+
     private String formatGpuDetails(Gpu gpu) {
         StringBuilder sb = new StringBuilder();
         sb.append("DETAILS FOR: ").append(gpu.getName()).append("\n");
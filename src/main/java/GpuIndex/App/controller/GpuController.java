@@ -1,12 +1,27 @@
 package GpuIndex.App.controller;
 
+import GpuIndex.App.catalog.CatalogSnapshot;
+import GpuIndex.App.catalog.GpuComparison;
+import GpuIndex.App.catalog.GpuFilter;
+import GpuIndex.App.catalog.GpuMetric;
 import GpuIndex.App.model.Gpu;
+import GpuIndex.App.model.GpuFields;
+import GpuIndex.App.service.AccessHistory;
+import GpuIndex.App.service.CatalogExportService;
 import GpuIndex.App.service.DbService;
+import GpuIndex.App.service.GpuComparisonService;
+import GpuIndex.App.service.GpuFileService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -17,40 +32,228 @@ public class GpuController {
     @Autowired
     private DbService dbService;
 
+    @Autowired
+    private AccessHistory accessHistory;
+
+    @Autowired
+    private CatalogExportService exportService;
+
+    @Autowired
+    private GpuFileService gpuFileService;
+
+    @Autowired
+    private GpuComparisonService comparisonService;
+
+    // Ordenado por relevancia; si hay más resultados, X-Next-Cursor trae el cursor de la página siguiente
     @GetMapping("/search")
-    public ResponseEntity<List<Map<String, String>>> searchGpus(@RequestParam String query) {
-        List<Map<String, String>> results = dbService.searchGpuResults(query);
-        return ResponseEntity.ok(results);
+    public ResponseEntity<?> searchGpus(@RequestParam String query,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "30") int limit) {
+        try {
+            DbService.SearchPage page = dbService.searchPage(query, cursor, limit);
+            if (cursor == null) {
+                accessHistory.record("search", query);
+            }
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .header("X-Total-Count", String.valueOf(page.total()));
+            if (page.hasMore()) {
+                response.header("X-Next-Cursor", page.nextCursor());
+            }
+            return response.body(page.results());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
+    // fields=name,memory_size_gb,... devuelve solo esas columnas
     @GetMapping("/details/from-url")
-    public ResponseEntity<Gpu> getGpuDetailsFromUrl(@RequestParam String url) {
+    public ResponseEntity<?> getGpuDetailsFromUrl(@RequestParam String url,
+                                                  @RequestParam(required = false) String fields) {
         try {
-            Gpu gpu = dbService.getGpuDetails(url);
-            if (gpu != null) {
-                return ResponseEntity.ok(gpu);
-            }
-            return ResponseEntity.notFound().build();
+            return project(dbService.getGpuDetailsByUrl(url), fields);
         } catch (IOException e) {
-            return ResponseEntity.internalServerError().build();
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @GetMapping("/details")
-    public ResponseEntity<Gpu> getGpuDetails(@RequestParam(required = false) String url,
-                                             @RequestParam(required = false) String name) {
+    public ResponseEntity<?> getGpuDetails(@RequestParam(required = false) String url,
+                                           @RequestParam(required = false) String name,
+                                           @RequestParam(required = false) String fields) {
         try {
             if (url != null) {
-                Gpu gpu = dbService.getGpuDetails(url);
-                return ResponseEntity.ok(gpu);
+                Gpu gpu = dbService.getGpuDetailsByUrl(url);
+                return project(gpu, fields);
             } else if (name != null) {
-                // Lógica para buscar por nombre (si la implementas)
-                return ResponseEntity.badRequest().body(null);
+                Gpu gpu = dbService.getGpuDetails(name);
+                accessHistory.record("details", name);
+                return project(gpu, fields);
             } else {
                 return ResponseEntity.badRequest().body(null);
             }
         } catch (IOException e) {
-            return ResponseEntity.internalServerError().build();
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Cuerpo: ["GeForce RTX 4090", "local://radeon-rx-7900-xtx", ...]. Respuesta en el mismo orden:
+    // {"query": ..., "found": true, "gpu": {...}} o {"query": ..., "found": false}
+    @PostMapping("/details/batch")
+    public ResponseEntity<?> getGpuDetailsBatch(@RequestBody List<String> queries,
+                                                @RequestParam(required = false) String fields) {
+        try {
+            GpuFields.Projection projection = fields != null ? GpuFields.projection(fields) : null;
+            List<Map<String, Object>> body = new ArrayList<>(queries.size());
+            for (DbService.DetailsMatch match : dbService.getGpuDetailsBatch(queries)) {
+                Map<String, Object> item = new LinkedHashMap<>(4);
+                item.put("query", match.query());
+                item.put("found", match.found());
+                if (match.found()) {
+                    item.put("gpu", projection != null ? projection.apply(match.gpu()) : match.gpu());
+                }
+                body.add(item);
+            }
+            return ResponseEntity.ok(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // GPUs parecidas: [{"distance": 0.21, "gpu": {...}}, ...], de la más cercana a la más lejana
+    @GetMapping("/{name}/similar")
+    public ResponseEntity<?> getSimilarGpus(@PathVariable String name,
+                                            @RequestParam(defaultValue = "10") int k,
+                                            @RequestParam(required = false) String fields) {
+        try {
+            GpuFields.Projection projection = fields != null ? GpuFields.projection(fields) : null;
+            DbService.SimilarGpus result = dbService.findSimilar(name, k);
+            List<Map<String, Object>> body = new ArrayList<>(result.similar().size());
+            for (DbService.SimilarGpu similar : result.similar()) {
+                Map<String, Object> item = new LinkedHashMap<>(2);
+                item.put("distance", similar.distance());
+                item.put("gpu", projection != null ? projection.apply(similar.gpu()) : similar.gpu());
+                body.add(item);
+            }
+            return ResponseEntity.ok(body);
+        } catch (IOException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Ejemplo: /api/gpus/filter?where=vram>=12,bandwidth>=500&limit=50&fields=name,memory_size_gb
+    // sort=efficiency devuelve primero las mejores en esa métrica
+    @GetMapping("/filter")
+    public ResponseEntity<?> filterGpus(@RequestParam String where,
+                                        @RequestParam(defaultValue = "50") int limit,
+                                        @RequestParam(required = false) String fields,
+                                        @RequestParam(required = false) String sort) {
+        try {
+            GpuMetric sortBy = sort != null ? GpuMetric.fromName(sort) : null;
+            List<Gpu> gpus = dbService.filterGpus(GpuFilter.parse(where), sortBy, limit);
+            if (fields == null) {
+                return ResponseEntity.ok(gpus);
+            }
+            GpuFields.Projection projection = GpuFields.projection(fields);
+            return ResponseEntity.ok(gpus.stream().map(projection::apply).toList());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Catálogo completo o filtrado, fila a fila: /api/gpus/export?format=csv&where=vram>=16&fields=name,tdp
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCatalog(@RequestParam(defaultValue = "ndjson") String format,
+                                           @RequestParam(required = false) String where,
+                                           @RequestParam(required = false) String fields,
+                                           @RequestParam(defaultValue = "" + Integer.MAX_VALUE) int limit) {
+        try {
+            CatalogExportService.Format exportFormat = CatalogExportService.Format.parse(format);
+            GpuFilter filter = where != null && !where.isBlank() ? GpuFilter.parse(where) : null;
+            GpuFields.Projection projection = fields != null ? GpuFields.projection(fields) : null;
+            CatalogSnapshot catalog = dbService.getSnapshot();
+            StreamingResponseBody body = out -> exportService.export(catalog, exportFormat, filter, projection, limit, out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"gpus." + exportFormat.extension() + "\"")
+                    .header("X-Catalog-Version", String.valueOf(catalog.version()))
+                    .body(body);
+        } catch (IllegalArgumentException e) {
+            // El handler de StreamingResponseBody exige ese tipo de cuerpo también en los errores
+            byte[] message = e.getMessage().getBytes(StandardCharsets.UTF_8);
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(out -> out.write(message));
+        }
+    }
+
+    // Cuerpo: ["GeForce RTX 4090", "local://radeon-rx-7900-xtx", ...] (hasta 500). metrics=fp32,bw,... o todas.
+    // Devuelve la matriz: por métrica, valores, diferencia con la mejor y puntuación 0-100 de cada GPU
+    @PostMapping("/compare")
+    public ResponseEntity<?> compareGpus(@RequestBody List<String> queries,
+                                         @RequestParam(required = false) String metrics) {
+        try {
+            List<GpuMetric> compared = metrics != null ? GpuMetric.parseList(metrics) : null;
+            GpuComparison.Matrix matrix = comparisonService.compareAll(queries, compared);
+            return ResponseEntity.ok()
+                    .header("X-Catalog-Version", String.valueOf(matrix.catalogVersion()))
+                    .body(matrix);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Tabla gpu de gpus.db por páginas de id: /api/gpus/db?after=<X-Next-Cursor anterior>&limit=500.
+    // Cada página es una búsqueda por clave primaria, cueste lo mismo la primera que la última.
+    @GetMapping("/db")
+    public ResponseEntity<?> listDbGpus(@RequestParam(required = false) String after,
+                                        @RequestParam(defaultValue = "100") int limit,
+                                        @RequestParam(required = false) String fields) {
+        try {
+            GpuFields.Projection projection = fields != null ? GpuFields.projection(fields) : null;
+            List<Gpu> page = gpuFileService.getGpusAfter(after, limit);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            // Página llena: puede haber más (si no, la siguiente llega vacía y sin cursor)
+            if (page.size() == limit) {
+                response.header("X-Next-Cursor", page.get(page.size() - 1).getId());
+            }
+            if (projection == null) {
+                return response.body(page);
+            }
+            return response.body(page.stream().map(projection::apply).toList());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // La tabla entera en NDJSON, leída con un cursor: el heap no depende del número de filas
+    @GetMapping("/db/export")
+    public ResponseEntity<StreamingResponseBody> exportDb(@RequestParam(required = false) String fields) {
+        try {
+            GpuFields.Projection projection = fields != null ? GpuFields.projection(fields) : null;
+            StreamingResponseBody body = out -> exportService.exportTable(projection, out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(CatalogExportService.Format.NDJSON.contentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"gpus-db.ndjson\"")
+                    .body(body);
+        } catch (IllegalArgumentException e) {
+            byte[] message = e.getMessage().getBytes(StandardCharsets.UTF_8);
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(out -> out.write(message));
+        }
+    }
+
+    @GetMapping("/fields")
+    public ResponseEntity<List<String>> listFields() {
+        return ResponseEntity.ok(GpuFields.names());
+    }
+
+    private ResponseEntity<?> project(Gpu gpu, String fields) {
+        if (fields == null) {
+            return ResponseEntity.ok(gpu);
         }
+        return ResponseEntity.ok(GpuFields.projection(fields).apply(gpu));
     }
 }
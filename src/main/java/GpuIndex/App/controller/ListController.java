@@ -0,0 +1,97 @@
+package GpuIndex.App.controller;
+
+import GpuIndex.App.service.AdvancedListManager;
+import GpuIndex.App.session.SessionRegistry;
+import GpuIndex.App.session.UserSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Listas guardadas por REST. Cada cliente se identifica con la cabecera {@code X-Client-Id}: su lista
+ * activa es suya (SessionRegistry) y las listas son las mismas que ve la shell.
+ */
+@RestController
+@RequestMapping("/api/lists")
+public class ListController {
+
+    private static final String CLIENT_HEADER = "X-Client-Id";
+
+    @Autowired
+    private AdvancedListManager listManager;
+
+    @Autowired
+    private SessionRegistry sessions;
+
+    @GetMapping
+    public ResponseEntity<?> listAll(@RequestHeader(CLIENT_HEADER) String clientId) {
+        try {
+            return ResponseEntity.ok(listManager.listAllLists(sessions.get(clientId)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Crea la lista y la deja activa para este cliente
+    @PostMapping
+    public ResponseEntity<?> create(@RequestHeader(CLIENT_HEADER) String clientId, @RequestParam String name) {
+        try {
+            return ResponseEntity.ok(listManager.createList(sessions.get(clientId), name));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/current")
+    public ResponseEntity<?> switchTo(@RequestHeader(CLIENT_HEADER) String clientId, @RequestParam String name) {
+        try {
+            return ResponseEntity.ok(listManager.switchList(sessions.get(clientId), name));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // {"name": "Gaming", "gpus": ["GeForce RTX 4060", ...]}
+    @GetMapping("/current")
+    public ResponseEntity<?> current(@RequestHeader(CLIENT_HEADER) String clientId) {
+        try {
+            UserSession session = sessions.get(clientId);
+            List<String> gpus = listManager.getGpuNames(session, null);
+            if (gpus == null) {
+                return ResponseEntity.notFound().build();
+            }
+            Map<String, Object> body = new LinkedHashMap<>(2);
+            body.put("name", session.getCurrentListName());
+            body.put("gpus", gpus);
+            return ResponseEntity.ok(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/current/gpus")
+    public ResponseEntity<?> add(@RequestHeader(CLIENT_HEADER) String clientId, @RequestParam String gpu) {
+        try {
+            return ResponseEntity.ok(listManager.addToCurrentList(sessions.get(clientId), gpu));
+        } catch (IOException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // index empieza en 1, como en 'gpu remove -i'
+    @DeleteMapping("/current/gpus/{index}")
+    public ResponseEntity<?> remove(@RequestHeader(CLIENT_HEADER) String clientId, @PathVariable int index) {
+        try {
+            return ResponseEntity.ok(listManager.removeGpuFromList(sessions.get(clientId), index));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -121,10 +121,6 @@ public class Gpu implements Serializable {
     }
 
     public Object get(String fieldName) {
-        try {
-            return this.getClass().getDeclaredField(fieldName).get(this);
-        } catch (Exception e) {
-            return "N/A";
-        }
+        return GpuFields.get(this, fieldName);
     }
 }
@@ -0,0 +1,156 @@
+package GpuIndex.App.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Tabla de accesores de {@link Gpu} por nombre de campo y por su alias {@code @JsonProperty}.
+ * Los getters se enlazan una sola vez con {@link LambdaMetafactory}; en las consultas no hay reflexión.
+ */
+public final class GpuFields {
+
+    private record Accessor(String jsonName, Function<Gpu, Object> getter) {
+    }
+
+    private static final Map<String, Accessor> ACCESSORS = new HashMap<>();
+    private static final List<String> JSON_NAMES = new ArrayList<>();
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (Field field : Gpu.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            JsonProperty property = field.getAnnotation(JsonProperty.class);
+            String jsonName = property != null ? property.value() : field.getName();
+            register(lookup, field.getName(), jsonName, getterName(field.getName()));
+        }
+        // Propiedad derivada que también aparece en el JSON
+        register(lookup, "fp32", "fp32", "getFp32");
+    }
+
+    private GpuFields() {
+    }
+
+    private static void register(MethodHandles.Lookup lookup, String fieldName, String jsonName, String getterName) {
+        Accessor accessor = new Accessor(jsonName, bind(lookup, getterName));
+        for (String key : List.of(fieldName, jsonName)) {
+            ACCESSORS.put(key, accessor);
+            ACCESSORS.putIfAbsent(key.toLowerCase(Locale.ROOT), accessor);
+        }
+        JSON_NAMES.add(jsonName);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Gpu, Object> bind(MethodHandles.Lookup lookup, String getterName) {
+        try {
+            Method getter = Gpu.class.getMethod(getterName);
+            MethodHandle handle = lookup.unreflect(getter);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(getter.getReturnType(), Gpu.class));
+            return (Function<Gpu, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot bind accessor " + getterName, e);
+        }
+    }
+
+    private static String getterName(String fieldName) {
+        return "get" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+    }
+
+    /** Nombres JSON de todos los campos, en orden de declaración. */
+    public static List<String> names() {
+        return Collections.unmodifiableList(JSON_NAMES);
+    }
+
+    public static boolean exists(String name) {
+        return accessor(name) != null;
+    }
+
+    /** Valor del campo, o "N/A" si el campo no existe. */
+    public static Object get(Gpu gpu, String name) {
+        Accessor accessor = accessor(name);
+        return accessor != null ? accessor.getter().apply(gpu) : "N/A";
+    }
+
+    // Primero el nombre tal cual (caso habitual), después sin mayúsculas ni espacios
+    private static Accessor accessor(String name) {
+        if (name == null) {
+            return null;
+        }
+        Accessor accessor = ACCESSORS.get(name);
+        return accessor != null ? accessor : ACCESSORS.get(name.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Resuelve una lista de campos (nombre o alias JSON) a una proyección reutilizable.
+     * Lanza {@link IllegalArgumentException} si alguno no existe.
+     */
+    public static Projection projection(List<String> fields) {
+        List<Accessor> accessors = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            if (field == null || field.isBlank()) {
+                continue;
+            }
+            Accessor accessor = accessor(field);
+            if (accessor == null) {
+                throw new IllegalArgumentException("Unknown field: '" + field.trim() + "'");
+            }
+            if (!accessors.contains(accessor)) {
+                accessors.add(accessor);
+            }
+        }
+        return new Projection(List.copyOf(accessors));
+    }
+
+    public static Projection projection(String commaSeparatedFields) {
+        return projection(List.of(commaSeparatedFields.split(",")));
+    }
+
+    public static final class Projection {
+        private final List<Accessor> accessors;
+
+        private Projection(List<Accessor> accessors) {
+            this.accessors = accessors;
+        }
+
+        public List<String> names() {
+            return accessors.stream().map(Accessor::jsonName).toList();
+        }
+
+        public Map<String, Object> apply(Gpu gpu) {
+            Map<String, Object> values = new LinkedHashMap<>(accessors.size() * 2);
+            for (Accessor accessor : accessors) {
+                values.put(accessor.jsonName(), accessor.getter().apply(gpu));
+            }
+            return values;
+        }
+
+        public Object value(Gpu gpu, int column) {
+            return accessors.get(column).getter().apply(gpu);
+        }
+
+        public int size() {
+            return accessors.size();
+        }
+    }
+}
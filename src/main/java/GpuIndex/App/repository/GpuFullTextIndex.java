@@ -0,0 +1,99 @@
+package GpuIndex.App.repository;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Índice FTS5 de la tabla {@code gpu} de gpus.db. Es una tabla de contenido externo: guarda solo el
+ * índice invertido y lee el texto de {@code gpu} por rowid, y unos triggers la mantienen al día en cada
+ * insert, update y delete. Las búsquedas de {@link GpuRepository#searchRanked} la consultan ordenando
+ * por BM25 en vez de recorrer la tabla con LIKE.
+ */
+@Component
+public class GpuFullTextIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(GpuFullTextIndex.class);
+
+    static final String TABLE = "gpu_fts";
+    // Separadores como los del tokenizador unicode61: todo lo que no es letra ni número
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    /** Crea el índice y sus triggers si faltan; la primera vez lo llena con lo que ya haya en {@code gpu}. */
+    @PostConstruct
+    public void ensureIndex() {
+        try {
+            if (!tableExists("gpu")) {
+                logger.debug("gpus.db sin tabla gpu: no se crea el índice de texto");
+                return;
+            }
+            boolean created = !tableExists(TABLE);
+            // prefix: índices extra para que 'rt*' o 'rtx*' no tengan que recorrer todos los términos
+            jdbc.execute("CREATE VIRTUAL TABLE IF NOT EXISTS " + TABLE + " USING fts5("
+                    + "name, manufacturer, content='gpu', content_rowid='rowid', "
+                    + "tokenize='unicode61 remove_diacritics 2', prefix='2 3')");
+            jdbc.execute("CREATE TRIGGER IF NOT EXISTS gpu_fts_insert AFTER INSERT ON gpu BEGIN "
+                    + "INSERT INTO " + TABLE + "(rowid, name, manufacturer) VALUES (new.rowid, new.name, new.manufacturer); END");
+            jdbc.execute("CREATE TRIGGER IF NOT EXISTS gpu_fts_delete AFTER DELETE ON gpu BEGIN "
+                    + "INSERT INTO " + TABLE + "(" + TABLE + ", rowid, name, manufacturer) "
+                    + "VALUES ('delete', old.rowid, old.name, old.manufacturer); END");
+            jdbc.execute("CREATE TRIGGER IF NOT EXISTS gpu_fts_update AFTER UPDATE ON gpu BEGIN "
+                    + "INSERT INTO " + TABLE + "(" + TABLE + ", rowid, name, manufacturer) "
+                    + "VALUES ('delete', old.rowid, old.name, old.manufacturer); "
+                    + "INSERT INTO " + TABLE + "(rowid, name, manufacturer) VALUES (new.rowid, new.name, new.manufacturer); END");
+            if (created) {
+                rebuild();
+            }
+        } catch (DataAccessException e) {
+            logger.warn("No se pudo preparar el índice de texto de gpus.db: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rehace el índice desde {@code gpu}. Hace falta si se modificó la tabla sin los triggers o tras un
+     * VACUUM, que puede renumerar los rowid de una tabla sin INTEGER PRIMARY KEY.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        jdbc.execute("INSERT INTO " + TABLE + "(" + TABLE + ") VALUES ('rebuild')");
+        logger.info("Índice de texto de gpus.db reconstruido en {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Consulta FTS5 para lo que escribe el usuario: cada término entre comillas (así no se interpretan
+     * AND, OR, NEAR ni los operadores) y como prefijo, y todos obligatorios. "rtx 40" busca
+     * {@code "rtx"* "40"*}. Devuelve null si no queda ningún término.
+     */
+    public static String matchQuery(String query) {
+        if (query == null) {
+            return null;
+        }
+        StringBuilder match = new StringBuilder();
+        for (String term : SEPARATORS.split(query.toLowerCase(Locale.ROOT))) {
+            if (term.isEmpty()) {
+                continue;
+            }
+            if (!match.isEmpty()) {
+                match.append(' ');
+            }
+            match.append('"').append(term).append("\"*");
+        }
+        return match.isEmpty() ? null : match.toString();
+    }
+
+    private boolean tableExists(String name) {
+        Integer count = jdbc.queryForObject(
+                "SELECT count(*) FROM sqlite_master WHERE name = ?", Integer.class, name);
+        return count != null && count > 0;
+    }
+}
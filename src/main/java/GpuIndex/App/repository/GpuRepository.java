@@ -1,19 +1,40 @@
 package GpuIndex.App.repository;
 
 import GpuIndex.App.model.Gpu;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface GpuRepository extends JpaRepository<Gpu, Long> {
+public interface GpuRepository extends JpaRepository<Gpu, String> {
 
     List<Gpu> findByNameContainingIgnoreCase(String name);
 
-    @Query("SELECT g FROM Gpu g WHERE LOWER(g.name) LIKE LOWER(CONCAT('%', :query, '%'))")
-    List<Gpu> searchByName(@Param("query") String query);
+    // Índice FTS5 (GpuFullTextIndex): match sale de GpuFullTextIndex.matchQuery y el orden es BM25,
+    // con el nombre pesando diez veces más que el fabricante
+    @Query(value = "SELECT g.* FROM gpu_fts JOIN gpu g ON g.rowid = gpu_fts.rowid "
+            + "WHERE gpu_fts MATCH :match ORDER BY bm25(gpu_fts, 10.0, 1.0) LIMIT :limit", nativeQuery = true)
+    List<Gpu> searchRanked(@Param("match") String match, @Param("limit") int limit);
 
     boolean existsByName(String name);
-}
\ No newline at end of file
+
+    // Keyset: cada página empieza en el índice de la clave primaria justo después del último id
+    // devuelto, así que la página 1000 cuesta lo mismo que la primera (con OFFSET habría que saltar filas)
+    List<Gpu> findByIdGreaterThanOrderByIdAsc(String afterId, Limit limit);
+
+    // Recorrido completo con un cursor JDBC abierto: filas de 1000 en 1000 y entidades de solo lectura
+    // (Hibernate no guarda la copia para detectar cambios). Hay que cerrarlo dentro de la transacción.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT g FROM Gpu g ORDER BY g.id")
+    Stream<Gpu> streamAllOrderById();
+}
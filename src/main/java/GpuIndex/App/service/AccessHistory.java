@@ -0,0 +1,89 @@
+package GpuIndex.App.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Historial de accesos REST con el mismo formato que el historial de la shell
+ * ({@code <epoch millis>:<comando>}), para que {@link CacheWarmer} pueda leer los dos igual.
+ * Se escribe por lotes, no en cada petición.
+ */
+@Component
+public class AccessHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessHistory.class);
+    private static final int FLUSH_EVERY = 100;
+    private static final int MAX_LINES = 5000;
+
+    @Value("${gpu.cache.warmup.rest-history:rest-history.log}")
+    private String historyFile;
+
+    private final ConcurrentLinkedQueue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    public void record(String command, String target) {
+        if (target == null || target.isBlank()) {
+            return;
+        }
+        pending.add(System.currentTimeMillis() + ":" + command + " " + target.replaceAll("[\\r\\n]+", " ").trim());
+        if (pendingCount.incrementAndGet() >= FLUSH_EVERY) {
+            flush();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void flush() {
+        List<String> lines = new ArrayList<>();
+        String line;
+        while ((line = pending.poll()) != null) {
+            lines.add(line);
+        }
+        pendingCount.addAndGet(-lines.size());
+        if (lines.isEmpty()) {
+            return;
+        }
+        try {
+            Files.write(path(), lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.warn("No se pudo guardar el historial REST en {}: {}", historyFile, e.getMessage());
+        }
+    }
+
+    /** Líneas guardadas; si el fichero pasa de {@value #MAX_LINES} líneas se recorta a las más recientes. */
+    public synchronized List<String> readLines() {
+        Path path = path();
+        if (!Files.isRegularFile(path)) {
+            return Collections.emptyList();
+        }
+        try {
+            List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+            if (lines.size() > MAX_LINES) {
+                lines = new ArrayList<>(lines.subList(lines.size() - MAX_LINES, lines.size()));
+                Files.write(path, lines, StandardCharsets.UTF_8);
+            }
+            return lines;
+        } catch (IOException e) {
+            logger.warn("No se pudo leer el historial REST {}: {}", historyFile, e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private Path path() {
+        return Paths.get(historyFile.trim());
+    }
+}
@@ -1,299 +1,851 @@
 package GpuIndex.App.service;
 
+import GpuIndex.App.config.AppMetrics;
 import GpuIndex.App.model.Gpu;
 import GpuIndex.App.model.GpuList;
+import GpuIndex.App.session.UserSession;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 @Service
 public class AdvancedListManager {
 
+    private static final Logger logger = LoggerFactory.getLogger(AdvancedListManager.class);
+
     @Autowired
     private DbService dbService;
+
+    @Autowired
+    private AppMetrics metrics;
     
-    private final Map<String, List<GpuList.GpuSummary>> lists = new HashMap<>();
-    private String currentListName;
-    private final int MAX_LIST_SIZE = 20;
-    private static final String LISTS_DIRECTORY = "saved_lists";
+    // Listas cargadas en memoria (como mucho maxResident más las que tienen cambios sin volcar). Cada
+    // lista (ArrayList) se lee y modifica con su lock de stripes; el mapa es concurrente
+    private final Map<String, List<GpuList.GpuSummary>> lists = new ConcurrentHashMap<>();
+    private static final String JOURNAL_FILE = "lists.journal";
+    private static final String INDEX_FILE = "lists.index";
+    private static final String TMP_SUFFIX = ".tmp";
+    // Operaciones en el diario antes de volcarlo a los <lista>.json
+    private static final int COMPACT_EVERY = 1000;
+    // El nombre de la lista es el de su fichero: solo letras, dígitos, espacio, '_' y '-'
+    private static final int MAX_NAME_LENGTH = 64;
+    private static final Pattern LIST_NAME = Pattern.compile("[\\p{L}\\p{N} _-]{1," + MAX_NAME_LENGTH + "}");
+
+    // Directorio de las listas: un .json por lista, el diario y el índice
+    @Value("${gpu.lists.dir:saved_lists}")
+    private String listsDirectory = "saved_lists";
+
+    @Value("${gpu.lists.max-size:1000}")
+    private int maxListSize = 1000;
+
+    @Value("${gpu.lists.max-resident:50}")
+    private int maxResident = 50;
+
+    // Ventana en la que se agrupan las operaciones antes de escribirlas al diario
+    @Value("${gpu.lists.flush-delay-ms:200}")
+    private long flushDelayMs = 200;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    // Índice de todas las listas, cargadas o no: nombre de su fichero (la clave va en minúsculas)
+    // y número de GPUs, si se conoce sin leer la lista
+    private final Map<String, String> fileNames = new ConcurrentHashMap<>();
+    private final Map<String, Integer> sizes = new ConcurrentHashMap<>();
+    // Último uso de cada lista cargada, para descargar la menos usada
+    private final Map<String, Long> lastUse = new ConcurrentHashMap<>();
+    private final AtomicLong useClock = new AtomicLong();
+    // Cambios aún no volcados: listas a reescribir y ficheros a borrar en la próxima compactación
+    private final Set<String> dirtyLists = ConcurrentHashMap.newKeySet();
+    private final Set<String> droppedFiles = ConcurrentHashMap.newKeySet();
+    private ListJournal journal;
+
+    // Toda la E/S del diario y las compactaciones van en este hilo; los comandos solo encolan
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(
+            task -> Thread.ofPlatform().name("list-writer").daemon().unstarted(task));
+    private final Queue<ListJournal.Entry> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final ReentrantReadWriteLock structure = new ReentrantReadWriteLock();
+    private final ReentrantLock[] stripes = new ReentrantLock[32];
+    {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
 
     @PostConstruct
     public void init() {
         try {
-            Files.createDirectories(Paths.get(LISTS_DIRECTORY));
-            loadSavedLists();
+            Path directory = Paths.get(listsDirectory);
+            Files.createDirectories(directory);
+            journal = new ListJournal(directory.resolve(JOURNAL_FILE), mapper);
+            List<ListJournal.Entry> pending = recover(journal.open());
+            scanSavedLists();
+            for (ListJournal.Entry entry : pending) {
+                apply(entry);
+            }
+            if (!pending.isEmpty()) {
+                compactQuietly();
+            }
+            writer.execute(this::countUnindexed);
         } catch (IOException e) {
             System.err.println("Error: couldn't create a list directory: " + e.getMessage());
         }
     }
 
+    // Al cerrar se vuelca todo lo pendiente a los .json antes de soltar el diario
+    @PreDestroy
+    public void close() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            writer.submit(() -> {
+                compact();
+                journal.close();
+                return null;
+            }).get();
+        } catch (Exception e) {
+            System.err.println("Error: couldn't close the list journal " + e.getMessage());
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    /**
+     * Escribe ya todo lo pendiente: vuelca las listas cambiadas a sus .json (temporal + move atómico)
+     * y vacía el diario. Devuelve cuántas listas se han escrito.
+     */
+    public int sync() throws IOException {
+        if (journal == null) {
+            return 0;
+        }
+        try {
+            return writer.submit(this::compact).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("List sync interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("List sync failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
     // 📋 MÉTODOS DE PERSISTENCIA
-    private void loadSavedLists() {
+
+    /** Entrada de lists.index: tamaño del .json al escribirlo y GPUs que contenía. */
+    record IndexEntry(long bytes, int gpus) {
+    }
+
+    /**
+     * Al arrancar solo se leen los nombres y tamaños de los .json; el número de GPUs sale de lists.index
+     * si el fichero no ha cambiado desde que se escribió. Las listas se leen al usarlas por primera vez.
+     */
+    private void scanSavedLists() {
+        Map<String, IndexEntry> index = readIndex();
+        File[] jsonFiles = new File(listsDirectory).listFiles((dir, name) -> name.endsWith(".json"));
+        for (File file : jsonFiles != null ? jsonFiles : new File[0]) {
+            String listName = file.getName().substring(0, file.getName().length() - ".json".length());
+            String key = listName.toLowerCase();
+            fileNames.put(key, listName);
+            IndexEntry entry = index.get(file.getName());
+            if (entry != null && entry.bytes() == file.length()) {
+                sizes.put(key, entry.gpus());
+            }
+        }
+    }
+
+    /**
+     * Hilo list-writer, una vez al arrancar: cuenta las GPUs de los .json que no están en lists.index
+     * (listas de versiones anteriores o editadas a mano) recorriendo el JSON sin construir la lista.
+     * Los recuentos se guardan en el índice en la siguiente compactación.
+     */
+    private void countUnindexed() {
+        for (Map.Entry<String, String> list : fileNames.entrySet()) {
+            if (sizes.containsKey(list.getKey())) {
+                continue;
+            }
+            File file = new File(listsDirectory, list.getValue() + ".json");
+            try (JsonParser parser = mapper.getFactory().createParser(file)) {
+                int gpus = 0;
+                if (parser.nextToken() == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        boolean isGpus = "gpus".equals(parser.currentName());
+                        if (parser.nextToken() == JsonToken.START_ARRAY && isGpus) {
+                            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                                parser.skipChildren();
+                                gpus++;
+                            }
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+                sizes.putIfAbsent(list.getKey(), gpus);
+            } catch (IOException e) {
+                System.err.println(" Error: couldn't count a list " + file.getName());
+            }
+        }
+    }
+
+    private Map<String, IndexEntry> readIndex() {
+        Path file = Paths.get(listsDirectory, INDEX_FILE);
+        if (!Files.isRegularFile(file)) {
+            return Map.of();
+        }
         try {
-            File listsDir = new File(LISTS_DIRECTORY);
-            if (listsDir.exists() && listsDir.isDirectory()) {
-                File[] jsonFiles = listsDir.listFiles((dir, name) -> name.endsWith(".json"));
-                if (jsonFiles != null) {
-                    ObjectMapper mapper = new ObjectMapper();
-                    for (File file : jsonFiles) {
-                        try {
-                            GpuList gpuList = mapper.readValue(file, GpuList.class);
-                            String listName = file.getName().replace(".json", "");
-                            lists.put(listName.toLowerCase(), gpuList.getGpus());
-                        } catch (IOException e) {
-                            System.err.println(" Error: couldn't load a list " + file.getName());
+            return mapper.readValue(file.toFile(), new TypeReference<Map<String, IndexEntry>>() { });
+        } catch (IOException e) {
+            System.err.println(" Error: couldn't read the list index " + e.getMessage());
+            return Map.of();
+        }
+    }
+
+    // Se escribe tras cada compactación; si falta o no cuadra, solo se pierde el recuento en 'list all'
+    private void writeIndex() throws IOException {
+        Map<String, IndexEntry> index = new TreeMap<>();
+        for (Map.Entry<String, String> list : fileNames.entrySet()) {
+            Integer gpus = sizes.get(list.getKey());
+            Path file = Paths.get(listsDirectory, list.getValue() + ".json");
+            if (gpus != null && Files.isRegularFile(file)) {
+                index.put(list.getValue() + ".json", new IndexEntry(Files.size(file), gpus));
+            }
+        }
+        Path tmp = Paths.get(listsDirectory, INDEX_FILE + TMP_SUFFIX);
+        mapper.writeValue(tmp.toFile(), index);
+        Files.move(tmp, tmp.resolveSibling(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * La lista {@code key}, leyéndola de su .json si aún no está en memoria; null si no existe o no se
+     * puede leer. Se llama con el lock de la lista (o el estructural).
+     */
+    private List<GpuList.GpuSummary> resident(String key) {
+        List<GpuList.GpuSummary> list = lists.get(key);
+        if (list == null) {
+            String fileName = fileNames.get(key);
+            if (fileName == null) {
+                return null;
+            }
+            try {
+                GpuList gpuList = mapper.readValue(Paths.get(listsDirectory, fileName + ".json").toFile(), GpuList.class);
+                list = gpuList.getGpus() != null ? new ArrayList<>(gpuList.getGpus()) : new ArrayList<>();
+            } catch (IOException e) {
+                System.err.println(" Error: couldn't load a list " + fileName + ".json");
+                fileNames.remove(key);
+                sizes.remove(key);
+                return null;
+            }
+            lists.put(key, list);
+            sizes.put(key, list.size());
+        }
+        lastUse.put(key, useClock.incrementAndGet());
+        return list;
+    }
+
+    // Descarga las listas menos usadas por encima de maxResident; las que tienen cambios sin volcar se quedan
+    private void evictIdle() {
+        if (lists.size() <= maxResident) {
+            return;
+        }
+        structural(() -> {
+            List<String> idle = new ArrayList<>();
+            for (String key : lists.keySet()) {
+                if (!dirtyLists.contains(key)) {
+                    idle.add(key);
+                }
+            }
+            idle.sort(Comparator.comparingLong(key -> lastUse.getOrDefault(key, 0L)));
+            for (int i = 0; i < idle.size() && lists.size() > maxResident; i++) {
+                lists.remove(idle.get(i));
+                lastUse.remove(idle.get(i));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Termina o descarta una compactación interrumpida y devuelve las operaciones del diario que faltan
+     * por aplicar sobre los .json: si hay un commit, los .tmp ya están completos y se ponen en su sitio.
+     */
+    private List<ListJournal.Entry> recover(List<ListJournal.Entry> entries) throws IOException {
+        int lastCommit = -1;
+        for (int i = 0; i < entries.size(); i++) {
+            if (ListJournal.COMMIT.equals(entries.get(i).op())) {
+                lastCommit = i;
+            }
+        }
+        File[] tmpFiles = new File(listsDirectory).listFiles((dir, name) -> name.endsWith(".json" + TMP_SUFFIX));
+        if (lastCommit < 0) {
+            for (File tmp : tmpFiles != null ? tmpFiles : new File[0]) {
+                Files.deleteIfExists(tmp.toPath());
+            }
+            return entries;
+        }
+        finishCommit(entries.get(lastCommit).drop());
+        return new ArrayList<>(entries.subList(lastCommit + 1, entries.size()));
+    }
+
+    // Aplica una operación del diario a las listas en memoria (al hacerla y al repetirla al arrancar)
+    private void apply(ListJournal.Entry entry) {
+        String key = entry.list();
+        // Crear y borrar no necesitan el contenido: no se lee la lista para eso
+        boolean needsContent = !ListJournal.CREATE.equals(entry.op()) && !ListJournal.DELETE.equals(entry.op());
+        List<GpuList.GpuSummary> list = key == null ? null : needsContent ? resident(key) : lists.get(key);
+        switch (entry.op()) {
+            case ListJournal.CREATE -> {
+                if (!fileNames.containsKey(key) && isValidName(entry.name())) {
+                    lists.put(key, new ArrayList<>());
+                    lastUse.put(key, useClock.incrementAndGet());
+                    fileNames.put(key, entry.name());
+                    dirtyLists.add(key);
+                }
+            }
+            case ListJournal.ADD -> {
+                if (list != null) {
+                    list.add(entry.gpu());
+                    dirtyLists.add(key);
+                }
+            }
+            case ListJournal.REMOVE -> {
+                if (list != null) {
+                    for (int index : entry.indices()) {
+                        if (index >= 0 && index < list.size()) {
+                            list.remove(index);
                         }
                     }
+                    dirtyLists.add(key);
                 }
             }
-        } catch (Exception e) {
-            System.err.println("Error: couldn't start saved lists " + e.getMessage());
+            case ListJournal.CLEAR -> {
+                if (list != null) {
+                    list.clear();
+                    dirtyLists.add(key);
+                }
+            }
+            case ListJournal.RENAME -> {
+                if (list != null && !fileNames.containsKey(entry.to()) && isValidName(entry.name())) {
+                    lists.remove(key);
+                    lastUse.remove(key);
+                    droppedFiles.add(fileNames.remove(key) + ".json");
+                    sizes.remove(key);
+                    dirtyLists.remove(key);
+                    lists.put(entry.to(), list);
+                    lastUse.put(entry.to(), useClock.incrementAndGet());
+                    fileNames.put(entry.to(), entry.name());
+                    dirtyLists.add(entry.to());
+                }
+            }
+            case ListJournal.DELETE -> {
+                if (fileNames.containsKey(key)) {
+                    lists.remove(key);
+                    lastUse.remove(key);
+                    droppedFiles.add(fileNames.remove(key) + ".json");
+                    sizes.remove(key);
+                    dirtyLists.remove(key);
+                }
+            }
+            default -> {
+            }
+        }
+        // El recuento del índice sigue a la lista en memoria
+        String touched = ListJournal.RENAME.equals(entry.op()) ? entry.to() : key;
+        List<GpuList.GpuSummary> updated = touched != null ? lists.get(touched) : null;
+        if (updated != null) {
+            sizes.put(touched, updated.size());
         }
     }
 
-    private void saveListToFile(String listName) {
+    // Aplica la operación y la encola para el diario; el comando no espera al disco. Se llama con el
+    // lock de la lista (o el estructural), así que cada lista encola sus operaciones en orden.
+    private void record(ListJournal.Entry entry) {
+        apply(entry);
+        if (journal == null) {
+            return;
+        }
+        pending.add(entry);
+        if (flushScheduled.compareAndSet(false, true)) {
+            writer.schedule(this::flush, flushDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Hilo list-writer: escribe de una vez lo acumulado en la ventana y compacta si toca
+    private void flush() {
+        flushScheduled.set(false);
+        List<ListJournal.Entry> batch = new ArrayList<>();
+        for (ListJournal.Entry entry; (entry = pending.poll()) != null; ) {
+            batch.add(entry);
+        }
+        if (!batch.isEmpty()) {
+            Timer.Sample sample = metrics.start();
+            try {
+                metrics.listPersistBytes().record(journal.append(batch));
+                journal.sync();
+            } catch (IOException e) {
+                // Las listas siguen marcadas como cambiadas: la compactación las escribe enteras
+                logger.error("No se pudo escribir el diario de listas: {}", e.getMessage());
+                compactQuietly();
+                return;
+            } finally {
+                sample.stop(metrics.listPersist());
+            }
+        }
+        if (journal.size() >= COMPACT_EVERY) {
+            compactQuietly();
+        }
+    }
+
+    // En list-writer no hay a quién avisar: compact() ya ha dejado el fallo en el log
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException e) {
+            // Las listas que fallaron siguen en el diario y se reintentan en la siguiente
+        }
+    }
+
+    /**
+     * Vuelca las listas cambiadas a sus .json y vacía el diario. Primero se escriben los .tmp, después
+     * el commit (con los ficheros a borrar) y solo entonces se mueven a su sitio.
+     *
+     * <p>Una lista que no se puede escribir no frena a las demás: se confirman las otras y la que falló
+     * vuelve al diario vacío con su contenido entero, para reintentarla en la siguiente compactación.
+     * Devuelve cuántas listas se han escrito, o lanza IOException si alguna falló.
+     */
+    private int compact() throws IOException {
+        // Sin cambios en curso: lo que hay en memoria, incluido lo aún encolado, es lo que se escribe
+        structure.writeLock().lock();
         try {
-            List<GpuList.GpuSummary> list = lists.get(listName.toLowerCase());
-            if (list != null) {
+            Set<String> written = new HashSet<>();
+            Set<String> failed = new TreeSet<>();
+            for (String key : dirtyLists) {
+                List<GpuList.GpuSummary> list = lists.get(key);
+                if (list == null) {
+                    continue;
+                }
                 GpuList gpuList = new GpuList();
-                gpuList.setListName(listName);
+                gpuList.setListName(fileNames.get(key));
                 gpuList.setGpus(list);
-                
-                ObjectMapper mapper = new ObjectMapper();
-                File outputFile = new File(LISTS_DIRECTORY + "/" + listName + ".json");
-                mapper.writerWithDefaultPrettyPrinter().writeValue(outputFile, gpuList);
+                Path tmp = Paths.get(listsDirectory, fileNames.get(key) + ".json" + TMP_SUFFIX);
+                try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    channel.write(ByteBuffer.wrap(mapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(gpuList)));
+                    channel.force(true);
+                    written.add(fileNames.get(key) + ".json");
+                } catch (IOException | RuntimeException e) {
+                    logger.error("No se pudo escribir la lista '{}': {}", fileNames.get(key), e.getMessage());
+                    Files.deleteIfExists(tmp);
+                    failed.add(key);
+                }
             }
+            List<String> drop = new ArrayList<>(droppedFiles);
+            drop.removeAll(written);
+
+            journal.append(ListJournal.commit(drop));
+            journal.sync();
+            finishCommit(drop);
+            journal.reset();
+            // Lo encolado ya está en los .json; repetirlo sobre ellos al arrancar lo duplicaría
+            pending.clear();
+            dirtyLists.clear();
+            droppedFiles.clear();
+            if (!failed.isEmpty()) {
+                rejournal(failed);
+            }
+            writeIndex();
+            if (!failed.isEmpty()) {
+                throw new IOException("couldn't write lists " + String.join(", ", failed));
+            }
+            return written.size();
         } catch (IOException e) {
-            System.err.println("Error: couldn't save list " + e.getMessage());
+            logger.error("No se pudieron compactar las listas guardadas: {}", e.getMessage());
+            throw e;
+        } finally {
+            structure.writeLock().unlock();
         }
     }
 
-    private void deleteListFile(String listName) {
-        try {
-            File file = new File(LISTS_DIRECTORY + "/" + listName + ".json");
-            if (file.exists()) {
-                Files.delete(file.toPath());
+    // Las listas que no se pudieron volcar quedan en el diario recién vaciado como create + clear + add
+    private void rejournal(Set<String> keys) throws IOException {
+        List<ListJournal.Entry> entries = new ArrayList<>();
+        for (String key : keys) {
+            entries.add(ListJournal.create(key, fileNames.get(key)));
+            entries.add(ListJournal.clear(key));
+            for (GpuList.GpuSummary gpu : lists.get(key)) {
+                entries.add(ListJournal.add(key, gpu));
             }
-        } catch (IOException e) {
-            System.err.println(" Error: couldn't remove list " + e.getMessage());
+            dirtyLists.add(key);
         }
+        journal.append(entries);
+        journal.sync();
+    }
+
+    private void finishCommit(List<String> drop) throws IOException {
+        File[] tmpFiles = new File(listsDirectory).listFiles((dir, name) -> name.endsWith(".json" + TMP_SUFFIX));
+        for (File tmp : tmpFiles != null ? tmpFiles : new File[0]) {
+            String target = tmp.getName().substring(0, tmp.getName().length() - TMP_SUFFIX.length());
+            Files.move(tmp.toPath(), tmp.toPath().resolveSibling(target),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        for (String fileName : drop != null ? drop : List.<String>of()) {
+            Files.deleteIfExists(Paths.get(listsDirectory, fileName));
+        }
+    }
+
+    // 🔒 BLOQUEOS
+    // Cambios de contenido: lectura del lock estructural + el lock de la lista. Crear, borrar,
+    // renombrar y compactar toman la escritura y excluyen todo lo demás.
+    private <T> T withList(String key, Supplier<T> action) {
+        ReentrantLock lock = stripes[(key.hashCode() & 0x7fffffff) % stripes.length];
+        structure.readLock().lock();
+        T result;
+        lock.lock();
+        try {
+            result = action.get();
+        } finally {
+            lock.unlock();
+            structure.readLock().unlock();
+        }
+        evictIdle();
+        return result;
+    }
+
+    private <T> T structural(Supplier<T> action) {
+        structure.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+
+    // Copia de la lista tomada con su lock, o null si no existe
+    private List<GpuList.GpuSummary> copyOf(String key) {
+        return withList(key, () -> {
+            List<GpuList.GpuSummary> list = resident(key);
+            return list != null ? new ArrayList<>(list) : null;
+        });
+    }
+
+    // Clave de la lista activa de la sesión; null si no tiene o si se borró desde otra sesión
+    private String currentKey(UserSession session) {
+        String name = session.getCurrentListName();
+        if (name == null) {
+            return null;
+        }
+        if (!fileNames.containsKey(name.toLowerCase())) {
+            session.setCurrentListName(null);
+            return null;
+        }
+        return name.toLowerCase();
+    }
+
+    /**
+     * Comprueba el nombre de una lista nueva, que se usa tal cual como nombre de su fichero: nada de
+     * separadores, "..", ni caracteres de control. Lanza IllegalArgumentException si no vale.
+     */
+    static String checkListName(String listName) {
+        String name = listName != null ? listName.trim() : "";
+        if (!LIST_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid list name '" + listName + "': use 1-" + MAX_NAME_LENGTH
+                    + " letters, digits, spaces, '_' or '-'");
+        }
+        return name;
+    }
+
+    // Al repetir el diario: una entrada de una versión que no comprobaba el nombre se salta
+    private static boolean isValidName(String name) {
+        if (name != null && LIST_NAME.matcher(name).matches()) {
+            return true;
+        }
+        logger.warn("Se ignora una lista del diario con nombre no válido: '{}'", name);
+        return false;
     }
 
     // 📋 MÉTODOS PRINCIPALES
-    public String createList(String listName) {
-        if (lists.containsKey(listName.toLowerCase())) {
+    public String createList(UserSession session, String requestedName) {
+        String listName = checkListName(requestedName);
+        String key = listName.toLowerCase();
+        boolean created = structural(() -> {
+            if (fileNames.containsKey(key)) {
+                return false;
+            }
+            record(ListJournal.create(key, listName));
+            return true;
+        });
+        if (!created) {
             return " List '" + listName + "' already exist.";
         }
-        
-        lists.put(listName.toLowerCase(), new ArrayList<>());
-        currentListName = listName;
-        saveListToFile(listName);
+        session.setCurrentListName(listName);
         return "List '" + listName + "' was created and is now active.";
     }
 
-    public String addToCurrentList(String gpuQuery) throws IOException {
-        if (currentListName == null) {
+    public String addToCurrentList(UserSession session, String gpuQuery) throws IOException {
+        String key = currentKey(session);
+        if (key == null) {
             return " there is not an active list. Use 'list new <name>' first.";
         }
-        
-        List<GpuList.GpuSummary> currentList = lists.get(currentListName.toLowerCase());
-        if (currentList.size() >= MAX_LIST_SIZE) {
-            return " list is full (" + MAX_LIST_SIZE + " GPUs). Use 'list export' first.";
-        }
+        String listName = session.getCurrentListName();
 
-        Gpu gpu;
+        Gpu found;
         try {
-            gpu = dbService.getGpuDetails(gpuQuery);
+            found = dbService.getGpuDetails(gpuQuery);
         } catch (IOException e) {
             var results = dbService.searchGpuResults(gpuQuery);
             if (results.isEmpty()) {
                 return " GPU not found: '" + gpuQuery + "'";
             }
-            gpu = dbService.getGpuDetails(results.get(0).get("title"));
+            found = dbService.getGpuDetails(results.get(0).get("title"));
         }
+        Gpu gpu = found;
 
-        GpuList.GpuSummary summary = createSummary(gpu);
-        currentList.add(summary);
-        saveListToFile(currentListName);
-        
-        return "'" + gpu.getName() + "' was added to '" + currentListName + "' " +
-               "(" + currentList.size() + "/" + MAX_LIST_SIZE + ")";
+        return withList(key, () -> {
+            List<GpuList.GpuSummary> currentList = resident(key);
+            if (currentList == null) {
+                return " there is not an active list. Use 'list new <name>' first.";
+            }
+            if (currentList.size() >= maxListSize) {
+                return " list is full (" + maxListSize + " GPUs). Use 'list export' first.";
+            }
+            record(ListJournal.add(key, createSummary(gpu)));
+            return "'" + gpu.getName() + "' was added to '" + listName + "' " +
+                   "(" + currentList.size() + "/" + maxListSize + ")";
+        });
     }
 
-    public String removeGpuFromList(int index) {
-        if (currentListName == null) {
+    public String removeGpuFromList(UserSession session, int index) {
+        String key = currentKey(session);
+        if (key == null) {
             return " There is not an active list. Use 'list new <name>' first.";
         }
-        
-        List<GpuList.GpuSummary> currentList = lists.get(currentListName.toLowerCase());
-        if (currentList.isEmpty()) {
-            return currentListName + "' is empty.";
-        }
-        
-        if (index < 1 || index > currentList.size()) {
-            return String.format(" Invalid index. Range: 1-%d", currentList.size());
-        }
-        
-        GpuList.GpuSummary removedGpu = currentList.remove(index - 1);
-        saveListToFile(currentListName);
-        return String.format("GPU '%s' was removed from the list '%s'", 
-                            removedGpu.getName(), currentListName);
+        String listName = session.getCurrentListName();
+
+        return withList(key, () -> {
+            List<GpuList.GpuSummary> currentList = resident(key);
+            if (currentList == null || currentList.isEmpty()) {
+                return listName + "' is empty.";
+            }
+
+            if (index < 1 || index > currentList.size()) {
+                return String.format(" Invalid index. Range: 1-%d", currentList.size());
+            }
+
+            GpuList.GpuSummary removedGpu = currentList.get(index - 1);
+            record(ListJournal.remove(key, index - 1));
+            return String.format("GPU '%s' was removed from the list '%s'",
+                                removedGpu.getName(), listName);
+        });
     }
 
-    public String removeGpuFromList(String gpuName) {
-        if (currentListName == null) {
+    public String removeGpuFromList(UserSession session, String gpuName) {
+        String key = currentKey(session);
+        if (key == null) {
             return " there is not an active list. Use 'list new <name>' first.";
         }
-        
-        List<GpuList.GpuSummary> currentList = lists.get(currentListName.toLowerCase());
-        if (currentList.isEmpty()) {
-            return " The list '" + currentListName + "' its empty.";
-        }
-        
-        Optional<GpuList.GpuSummary> foundGpu = currentList.stream()
-            .filter(gpu -> gpu.getName().toLowerCase().contains(gpuName.toLowerCase()))
-            .findFirst();
-        
-        if (foundGpu.isPresent()) {
-            currentList.remove(foundGpu.get());
-            saveListToFile(currentListName);
-            return String.format("GPU '%s' removed from the list '%s'", 
-                                foundGpu.get().getName(), currentListName);
-        }
-        
-        return String.format(" GPU '%s' was not found in the list '%s'",
-                            gpuName, currentListName);
+        String listName = session.getCurrentListName();
+
+        return withList(key, () -> {
+            List<GpuList.GpuSummary> currentList = resident(key);
+            if (currentList == null || currentList.isEmpty()) {
+                return " The list '" + listName + "' its empty.";
+            }
+
+            for (int i = 0; i < currentList.size(); i++) {
+                GpuList.GpuSummary gpu = currentList.get(i);
+                if (gpu.getName().toLowerCase().contains(gpuName.toLowerCase())) {
+                    record(ListJournal.remove(key, i));
+                    return String.format("GPU '%s' removed from the list '%s'",
+                                        gpu.getName(), listName);
+                }
+            }
+
+            return String.format(" GPU '%s' was not found in the list '%s'",
+                                gpuName, listName);
+        });
     }
 
-    public String removeGpusFromList(int[] indices) {
-        if (currentListName == null) {
+    public String removeGpusFromList(UserSession session, int[] indices) {
+        String key = currentKey(session);
+        if (key == null) {
             return " there is not an active list. Use 'list new <name>' first.";
         }
-        
-        List<GpuList.GpuSummary> currentList = lists.get(currentListName.toLowerCase());
-        if (currentList.isEmpty()) {
-            return " the list '" + currentListName + "' its empty.";
-        }
-        
-        for (int index : indices) {
-            if (index < 1 || index > currentList.size()) {
-                return String.format(" Index %d invalid. Range: 1-%d", index, currentList.size());
+        String listName = session.getCurrentListName();
+
+        return withList(key, () -> {
+            List<GpuList.GpuSummary> currentList = resident(key);
+            if (currentList == null || currentList.isEmpty()) {
+                return " the list '" + listName + "' its empty.";
             }
-        }
-        
-        Arrays.sort(indices);
-        List<String> removedGpus = new ArrayList<>();
-        
-        for (int i = indices.length - 1; i >= 0; i--) {
-            int actualIndex = indices[i] - 1;
-            removedGpus.add(currentList.get(actualIndex).getName());
-            currentList.remove(actualIndex);
-        }
-        
-        saveListToFile(currentListName);
-        return String.format("%d GPUs removed: %s", 
-                            indices.length, String.join(", ", removedGpus));
+
+            for (int index : indices) {
+                if (index < 1 || index > currentList.size()) {
+                    return String.format(" Index %d invalid. Range: 1-%d", index, currentList.size());
+                }
+            }
+
+            int[] sorted = Arrays.stream(indices).sorted().distinct().toArray();
+            List<String> removedGpus = new ArrayList<>();
+            int[] positions = new int[sorted.length];
+
+            // De la última a la primera, para que las posiciones no se desplacen
+            for (int i = sorted.length - 1; i >= 0; i--) {
+                int actualIndex = sorted[i] - 1;
+                removedGpus.add(currentList.get(actualIndex).getName());
+                positions[sorted.length - 1 - i] = actualIndex;
+            }
+
+            record(ListJournal.remove(key, positions));
+            return String.format("%d GPUs removed: %s",
+                                sorted.length, String.join(", ", removedGpus));
+        });
     }
 
-    public String saveList(String format, String customFileName) throws IOException {
-        if (currentListName == null) {
+    public String saveList(UserSession session, String format, String customFileName) throws IOException {
+        String key = currentKey(session);
+        if (key == null) {
             return " there is not a selected list.";
         }
-        
-        List<GpuList.GpuSummary> currentList = lists.get(currentListName.toLowerCase());
-        if (currentList.isEmpty()) {
+        String listName = session.getCurrentListName();
+
+        // Se exporta una copia: el fichero se escribe sin bloquear la lista
+        List<GpuList.GpuSummary> currentList = copyOf(key);
+        if (currentList == null || currentList.isEmpty()) {
             return " List empty.";
         }
 
         GpuList gpuList = new GpuList();
-        gpuList.setListName(currentListName);
-        gpuList.setGpus(new ArrayList<>(currentList));
+        gpuList.setListName(listName);
+        gpuList.setGpus(currentList);
         
-        String fileName = customFileName != null ? customFileName : currentListName.replaceAll("[^a-zA-Z0-9]", "_");
+        String fileName = customFileName != null ? customFileName : listName.replaceAll("[^a-zA-Z0-9]", "_");
         
-        if (format.equalsIgnoreCase("xlsx")) {
-            String xlsxFile = createExcelFile(fileName, gpuList);
-            return "Excel exported to: " + xlsxFile;
-        } else {
-            String jsonFile = createJsonFile(fileName, gpuList);
-            return "JSON exported to: " + jsonFile;
+        Timer.Sample sample = metrics.start();
+        try {
+            if (format.equalsIgnoreCase("xlsx")) {
+                String xlsxFile = createExcelFile(fileName, gpuList);
+                return "Excel exported to: " + xlsxFile;
+            } else {
+                String jsonFile = createJsonFile(fileName, gpuList);
+                return "JSON exported to: " + jsonFile;
+            }
+        } finally {
+            sample.stop(metrics.export("list", format.equalsIgnoreCase("xlsx") ? "xlsx" : "json"));
         }
     }
 
-    public String switchList(String listName) {
-        if (!lists.containsKey(listName.toLowerCase())) {
+    public String switchList(UserSession session, String listName) {
+        List<GpuList.GpuSummary> list = copyOf(listName.toLowerCase());
+        if (list == null) {
             return "List '" + listName + "' not found. Use 'list new <name>' first.";
         }
         
-        currentListName = listName;
-        return "List name changed to: '" + listName + "' (" +
-               lists.get(listName.toLowerCase()).size() + " GPUs)";
+        session.setCurrentListName(listName);
+        return "List name changed to: '" + listName + "' (" + list.size() + " GPUs)";
     }
 
-    public String deleteList(String listName) {
-        if (!lists.containsKey(listName.toLowerCase())) {
+    public String deleteList(UserSession session, String listName) {
+        String key = listName.toLowerCase();
+        boolean deleted = structural(() -> {
+            if (!fileNames.containsKey(key)) {
+                return false;
+            }
+            record(ListJournal.delete(key));
+            return true;
+        });
+        if (!deleted) {
             return "List '" + listName + "' not found.";
         }
         
-        lists.remove(listName.toLowerCase());
-        deleteListFile(listName);
-        
-        if (listName.equals(currentListName)) {
-            currentListName = null;
+        if (listName.equalsIgnoreCase(session.getCurrentListName())) {
+            session.setCurrentListName(null);
         }
         
         return "✅ List '" + listName + "' deleted.";
     }
 
-    public String renameList(String oldName, String newName) {
-        if (!lists.containsKey(oldName.toLowerCase())) {
-            return "List '" + oldName + "' not found.";
-        }
-        
-        if (lists.containsKey(newName.toLowerCase())) {
-            return newName + "' already exist.";
+    public String renameList(UserSession session, String oldName, String requestedName) {
+        String newName = checkListName(requestedName);
+        String error = structural(() -> {
+            if (!fileNames.containsKey(oldName.toLowerCase())) {
+                return "List '" + oldName + "' not found.";
+            }
+            if (fileNames.containsKey(newName.toLowerCase())) {
+                return newName + "' already exist.";
+            }
+            record(ListJournal.rename(oldName.toLowerCase(), newName.toLowerCase(), newName));
+            return null;
+        });
+        if (error != null) {
+            return error;
         }
         
-        List<GpuList.GpuSummary> list = lists.remove(oldName.toLowerCase());
-        lists.put(newName.toLowerCase(), list);
-        
-        deleteListFile(oldName);
-        saveListToFile(newName);
-        
-        if (oldName.equals(currentListName)) {
-            currentListName = newName;
+        if (oldName.equalsIgnoreCase(session.getCurrentListName())) {
+            session.setCurrentListName(newName);
         }
         
         return "✅ List renamed: '" + oldName + "' → '" + newName + "'";
     }
 
-    public String listAllLists() {
-        if (lists.isEmpty()) {
+    public String listAllLists(UserSession session) {
+        List<String> sortedNames = new ArrayList<>(fileNames.keySet());
+        if (sortedNames.isEmpty()) {
             return "there are no lists. Use 'list new <name>'.";
         }
+        Collections.sort(sortedNames);
+        String currentListName = session.getCurrentListName();
         
         StringBuilder sb = new StringBuilder();
         sb.append("SAVED LISTS:\n");
         sb.append("═".repeat(50)).append("\n");
         
-        List<String> sortedNames = new ArrayList<>(lists.keySet());
-        Collections.sort(sortedNames);
-        
+        // Solo el índice: no se carga ninguna lista para contar sus GPUs
         for (String name : sortedNames) {
+            String fileName = fileNames.get(name);
+            if (fileName == null) {
+                continue;
+            }
             String indicator = name.equalsIgnoreCase(currentListName) ? "👉 " : "   ";
-            int gpuCount = lists.get(name).size();
-            sb.append(String.format("%s%s: %d GPU%s\n", 
-                indicator, name, gpuCount, gpuCount != 1 ? "s" : ""));
+            Integer gpuCount = sizes.get(name);
+            if (gpuCount != null) {
+                sb.append(String.format("%s%s: %d GPU%s\n",
+                    indicator, name, gpuCount, gpuCount != 1 ? "s" : ""));
+            } else {
+                File file = new File(listsDirectory, fileName + ".json");
+                sb.append(String.format("%s%s: not loaded (%d KB)\n",
+                    indicator, name, (file.length() + 1023) / 1024));
+            }
         }
         
         sb.append("\n Use 'list switch <name>' to switch active list");
@@ -302,15 +854,16 @@ public class AdvancedListManager {
         return sb.toString();
     }
 
-    public String listStatus() {
-        if (currentListName == null) {
+    public String listStatus(UserSession session) {
+        String key = currentKey(session);
+        List<GpuList.GpuSummary> currentList = key != null ? copyOf(key) : null;
+        if (currentList == null) {
             return "there are no lists. Use 'list new <name>'.";
         }
         
-        List<GpuList.GpuSummary> currentList = lists.get(currentListName.toLowerCase());
         StringBuilder sb = new StringBuilder();
-        sb.append("LIST: ").append(currentListName).append("\n");
-        sb.append("GPUs: ").append(currentList.size()).append("/").append(MAX_LIST_SIZE).append("\n");
+        sb.append("LIST: ").append(session.getCurrentListName()).append("\n");
+        sb.append("GPUs: ").append(currentList.size()).append("/").append(maxListSize).append("\n");
         sb.append("==============================================================================\n");
         
         if (currentList.isEmpty()) {
@@ -336,12 +889,13 @@ public class AdvancedListManager {
         return sb.toString();
     }
 
-    public String showListDetails() {
-        if (currentListName == null) {
+    public String showListDetails(UserSession session) {
+        String key = currentKey(session);
+        List<GpuList.GpuSummary> currentList = key != null ? copyOf(key) : null;
+        if (currentList == null) {
             return "There are no active lists. Use 'list new <name>'.";
         }
-        
-        List<GpuList.GpuSummary> currentList = lists.get(currentListName.toLowerCase());
+        String currentListName = session.getCurrentListName();
         if (currentList.isEmpty()) {
             return "List '" + currentListName + "' its empty";
         }
@@ -367,25 +921,37 @@ public class AdvancedListManager {
         return sb.toString();
     }
 
-    public void clearCurrentList() {
-        if (currentListName != null) {
-            lists.get(currentListName.toLowerCase()).clear();
-            saveListToFile(currentListName);
+    /** Nombres de las GPUs de {@code listName} (la lista activa si es null), en orden; null si no existe. */
+    public List<String> getGpuNames(UserSession session, String listName) {
+        String key = listName != null ? listName.toLowerCase() : currentKey(session);
+        List<GpuList.GpuSummary> list = key != null ? copyOf(key) : null;
+        return list != null ? list.stream().map(GpuList.GpuSummary::getName).toList() : null;
+    }
+
+    public void clearCurrentList(UserSession session) {
+        String key = currentKey(session);
+        if (key != null) {
+            withList(key, () -> {
+                if (fileNames.containsKey(key)) {
+                    record(ListJournal.clear(key));
+                }
+                return null;
+            });
         }
     }
 
-    public boolean canAddMore() {
-        return currentListName != null && 
-               lists.get(currentListName.toLowerCase()).size() < MAX_LIST_SIZE;
+    public boolean canAddMore(UserSession session) {
+        return getRemainingSlots(session) > 0;
     }
 
-    public boolean hasCurrentList() {
-        return currentListName != null;
+    public boolean hasCurrentList(UserSession session) {
+        return currentKey(session) != null;
     }
 
-    public int getRemainingSlots() {
-        return currentListName != null ? 
-               MAX_LIST_SIZE - lists.get(currentListName.toLowerCase()).size() : 0;
+    public int getRemainingSlots(UserSession session) {
+        String key = currentKey(session);
+        List<GpuList.GpuSummary> list = key != null ? copyOf(key) : null;
+        return list != null ? maxListSize - list.size() : 0;
     }
 
     // 🛠️ MÉTODOS AUXILIARES
@@ -406,20 +972,24 @@ public class AdvancedListManager {
 
     private String createJsonFile(String fileName, GpuList gpuList) throws IOException {
         String fullFileName = fileName.endsWith(".json") ? fileName : fileName + ".json";
-        ObjectMapper mapper = new ObjectMapper();
         mapper.writerWithDefaultPrettyPrinter().writeValue(new File(fullFileName), gpuList);
         return fullFileName;
     }
 
     private String createExcelFile(String fileName, GpuList gpuList) throws IOException {
         String fullFileName = fileName.endsWith(".xlsx") ? fileName : fileName + ".xlsx";
-        
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("GPUs Comparison");
-            
+
+        // Encabezados en primera fila (horizontal)
+        String[] headers = {
+            "GPU Name", "Shading Units", "TDP(W)", "VRAM(GB)",
+            "Memory Type", "Memory Bus(bits)", "Bandwidth(GB/s)",
+            "FP32(GFLOPs)", "Base Clock(MHz)", "Boost Clock(MHz)"
+        };
+
+        try (XlsxSheetWriter xlsx = new XlsxSheetWriter("GPUs Comparison", headers.length)) {
             // Crear estilos
-            CellStyle headerStyle = workbook.createCellStyle();
-            Font headerFont = workbook.createFont();
+            CellStyle headerStyle = xlsx.createStyle();
+            Font headerFont = xlsx.createFont();
             headerFont.setBold(true);
             headerFont.setColor(IndexedColors.WHITE.getIndex());
             headerStyle.setFont(headerFont);
@@ -427,104 +997,43 @@ public class AdvancedListManager {
             headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
             headerStyle.setAlignment(HorizontalAlignment.CENTER);
             headerStyle.setBorderBottom(BorderStyle.THIN);
-            
-            CellStyle dataStyle = workbook.createCellStyle();
+
+            CellStyle dataStyle = xlsx.createStyle();
             dataStyle.setAlignment(HorizontalAlignment.CENTER);
             dataStyle.setBorderBottom(BorderStyle.THIN);
-            
-            CellStyle gpuNameStyle = workbook.createCellStyle();
-            Font gpuNameFont = workbook.createFont();
+
+            CellStyle gpuNameStyle = xlsx.createStyle();
+            Font gpuNameFont = xlsx.createFont();
             gpuNameFont.setBold(true);
             gpuNameStyle.setFont(gpuNameFont);
             gpuNameStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
             gpuNameStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
             gpuNameStyle.setBorderBottom(BorderStyle.THIN);
 
-            // Encabezados en primera fila (horizontal)
-            String[] headers = {
-                "GPU Name", "Shading Units", "TDP(W)", "VRAM(GB)",
-                "Memory Type", "Memory Bus(bits)", "Bandwidth(GB/s)",
-                "FP32(GFLOPs)", "Base Clock(MHz)", "Boost Clock(MHz)"
-            };
-            
-            // Crear fila de encabezados
-            Row headerRow = sheet.createRow(0);
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
-            
+            // Encabezados fijos al desplazarse
+            xlsx.header(headers, headerStyle);
+
             // Llenar datos - CADA GPU EN SU PROPIA FILA
-            int rowNum = 1;
             for (GpuList.GpuSummary gpu : gpuList.getGpus()) {
-                Row dataRow = sheet.createRow(rowNum++);
-                
-                // Columna 0: Nombre de GPU
-                Cell nameCell = dataRow.createCell(0);
-                nameCell.setCellValue(gpu.getName());
-                nameCell.setCellStyle(gpuNameStyle);
-                
-                // Columna 1: Unidades de Sombreado
-                Cell shadingCell = dataRow.createCell(1);
-                shadingCell.setCellValue(gpu.getShadingUnits() != null ? gpu.getShadingUnits() : 0);
-                shadingCell.setCellStyle(dataStyle);
-                
-                // Columna 2: TDP
-                Cell tdpCell = dataRow.createCell(2);
-                tdpCell.setCellValue(gpu.getTdp() != null ? gpu.getTdp() : "N/A");
-                tdpCell.setCellStyle(dataStyle);
-                
-                // Columna 3: Memoria(GB)
-                Cell memoryCell = dataRow.createCell(3);
-                memoryCell.setCellValue(gpu.getMemorySize() != null ? gpu.getMemorySize() : 0);
-                memoryCell.setCellStyle(dataStyle);
-                
-                // Columna 4: Tipo de Memoria
-                Cell memTypeCell = dataRow.createCell(4);
-                memTypeCell.setCellValue(gpu.getMemoryType() != null ? gpu.getMemoryType() : "N/A");
-                memTypeCell.setCellStyle(dataStyle);
-                
-                // Columna 5: Bus de Memoria
-                Cell busCell = dataRow.createCell(5);
-                busCell.setCellValue(gpu.getMemoryBus() != null ? gpu.getMemoryBus() : 0);
-                busCell.setCellStyle(dataStyle);
-                
-                // Columna 6: Ancho de Banda
-                Cell bandwidthCell = dataRow.createCell(6);
-                bandwidthCell.setCellValue(gpu.getBandwidth() != null ? gpu.getBandwidth() : 0);
-                bandwidthCell.setCellStyle(dataStyle);
-                
-                // Columna 7: FP32 Performance
-                Cell fp32Cell = dataRow.createCell(7);
-                fp32Cell.setCellValue(gpu.getFp32() != null ? gpu.getFp32() : 0);
-                fp32Cell.setCellStyle(dataStyle);
-                
-                // Columna 8: Base Clock
-                Cell baseClockCell = dataRow.createCell(8);
-                baseClockCell.setCellValue(gpu.getBaseClock() != null ? gpu.getBaseClock() : 0);
-                baseClockCell.setCellStyle(dataStyle);
-                
-                // Columna 9: Boost Clock
-                Cell boostClockCell = dataRow.createCell(9);
-                boostClockCell.setCellValue(gpu.getBoostClock() != null ? gpu.getBoostClock() : 0);
-                boostClockCell.setCellStyle(dataStyle);
-            }
-            
-            // Autoajustar columnas
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
-            
-            // Congelar la fila de encabezados
-            sheet.createFreezePane(0, 1);
-            
-            // Guardar archivo
+                Row dataRow = xlsx.row();
+                xlsx.cell(dataRow, 0, gpu.getName(), gpuNameStyle);
+                xlsx.cell(dataRow, 1, gpu.getShadingUnits() != null ? gpu.getShadingUnits() : 0, dataStyle);
+                xlsx.cell(dataRow, 2, gpu.getTdp() != null ? gpu.getTdp() : "N/A", dataStyle);
+                xlsx.cell(dataRow, 3, gpu.getMemorySize() != null ? gpu.getMemorySize() : 0, dataStyle);
+                xlsx.cell(dataRow, 4, gpu.getMemoryType() != null ? gpu.getMemoryType() : "N/A", dataStyle);
+                xlsx.cell(dataRow, 5, gpu.getMemoryBus() != null ? gpu.getMemoryBus() : 0, dataStyle);
+                xlsx.cell(dataRow, 6, gpu.getBandwidth() != null ? gpu.getBandwidth() : 0, dataStyle);
+                xlsx.cell(dataRow, 7, gpu.getFp32() != null ? gpu.getFp32() : 0, dataStyle);
+                xlsx.cell(dataRow, 8, gpu.getBaseClock() != null ? gpu.getBaseClock() : 0, dataStyle);
+                xlsx.cell(dataRow, 9, gpu.getBoostClock() != null ? gpu.getBoostClock() : 0, dataStyle);
+            }
+
+            // Guardar archivo (los anchos de columna salen de lo escrito)
             try (FileOutputStream outputStream = new FileOutputStream(fullFileName)) {
-                workbook.write(outputStream);
+                xlsx.write(outputStream);
             }
         }
-        
+
         return fullFileName;
     }
 }
@@ -0,0 +1,234 @@
+package GpuIndex.App.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Precalienta las cachés gpuSearchPages y gpuDetails al arrancar con las búsquedas y GPUs más
+ * frecuentes del historial de la shell y del historial REST ({@link AccessHistory}).
+ * Todo corre en hilos virtuales y se corta al agotar el presupuesto de tiempo.
+ */
+@Service
+public class CacheWarmer {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmer.class);
+    private static final int SEARCH_PAGE_SIZE = 30;
+
+    private enum Kind { SEARCH, SHOW, DETAILS }
+
+    // SHOW = resultado 'index' (1..n) de la búsqueda 'value'
+    private record Target(Kind kind, String value, int index) {
+    }
+
+    @Autowired
+    private DbService dbService;
+
+    @Autowired
+    private AccessHistory accessHistory;
+
+    @Value("${gpu.cache.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gpu.cache.warmup.budget-ms:2000}")
+    private long budgetMs;
+
+    @Value("${gpu.cache.warmup.max-entries:50}")
+    private int maxEntries;
+
+    @Value("${gpu.cache.warmup.days:30}")
+    private int days;
+
+    @Value("${spring.shell.history.name:${spring.application.name:spring-shell}.log}")
+    private String shellHistory;
+
+    // ApplicationStartedEvent y no ApplicationReadyEvent: la shell interactiva es un ApplicationRunner
+    // y ApplicationReadyEvent no se publica hasta salir de ella
+    @EventListener(ApplicationStartedEvent.class)
+    public void warmUpInBackground() {
+        if (enabled && budgetMs > 0 && maxEntries > 0) {
+            Thread.ofVirtual().name("cache-warmup").start(this::warmUp);
+        }
+    }
+
+    void warmUp() {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+        long since = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days);
+
+        List<String> lines = new ArrayList<>(readShellHistory());
+        lines.addAll(accessHistory.readLines());
+        List<Target> targets = mostFrequent(lines, since);
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        List<Callable<Boolean>> tasks = new ArrayList<>(targets.size());
+        for (Target target : targets) {
+            tasks.add(() -> warm(target));
+        }
+
+        int warmed = 0;
+        int cancelled = 0;
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            // invokeAll cancela lo que no haya terminado al llegar al plazo
+            for (Future<Boolean> future : executor.invokeAll(tasks, deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                try {
+                    if (future.get()) {
+                        warmed++;
+                    }
+                } catch (CancellationException e) {
+                    cancelled++;
+                } catch (ExecutionException e) {
+                    logger.debug("Precalentamiento fallido: {}", e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        logger.info("Cachés precalentadas: {} de {} entradas del historial en {} ms ({} sin tiempo, presupuesto {} ms)",
+                warmed, targets.size(), (System.nanoTime() - start) / 1_000_000, cancelled, budgetMs);
+    }
+
+    private boolean warm(Target target) throws IOException {
+        switch (target.kind()) {
+            case SEARCH -> {
+                return !dbService.searchPage(target.value(), null, SEARCH_PAGE_SIZE).results().isEmpty();
+            }
+            case SHOW -> {
+                List<Map<String, String>> results = dbService.searchPage(target.value(), null, SEARCH_PAGE_SIZE).results();
+                if (target.index() > results.size()) {
+                    return false;
+                }
+                dbService.getGpuDetails(results.get(target.index() - 1).get("title"));
+                return true;
+            }
+            default -> {
+                dbService.getGpuDetails(target.value());
+                return true;
+            }
+        }
+    }
+
+    private List<String> readShellHistory() {
+        Path path = Paths.get(shellHistory);
+        if (!Files.isRegularFile(path)) {
+            return Collections.emptyList();
+        }
+        try {
+            return Files.readAllLines(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("No se pudo leer el historial de la shell {}: {}", path, e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Objetivos de las líneas {@code <millis>:<comando>} posteriores a {@code since}, de más a menos
+     * frecuente (a igual frecuencia, el más reciente primero). 'gpu show n' y 'gpu add n' se refieren
+     * a la última búsqueda anterior de la misma fuente.
+     */
+    private List<Target> mostFrequent(List<String> lines, long since) {
+        Map<Target, long[]> seen = new HashMap<>(); // {veces, último uso}
+        String lastSearch = null;
+        for (String line : lines) {
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            long timestamp;
+            try {
+                timestamp = Long.parseLong(line.substring(0, colon));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            Target target = parse(line.substring(colon + 1).trim(), lastSearch);
+            if (target == null) {
+                continue;
+            }
+            if (target.kind() == Kind.SEARCH) {
+                lastSearch = target.value();
+            }
+            if (timestamp >= since) {
+                long[] stats = seen.computeIfAbsent(target, t -> new long[2]);
+                stats[0]++;
+                stats[1] = Math.max(stats[1], timestamp);
+            }
+        }
+        return seen.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<Target, long[]>>comparingLong(e -> -e.getValue()[0])
+                        .thenComparingLong(e -> -e.getValue()[1]))
+                .limit(maxEntries)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static Target parse(String command, String lastSearch) {
+        String lower = command.toLowerCase(Locale.ROOT);
+        if (lower.startsWith("search ")) {
+            String query = arguments(command.substring("search ".length()));
+            return query.isEmpty() ? null : new Target(Kind.SEARCH, query.toLowerCase(Locale.ROOT), 0);
+        }
+        if (lower.startsWith("details ")) {
+            String name = command.substring("details ".length()).trim();
+            return name.isEmpty() ? null : new Target(Kind.DETAILS, name, 0);
+        }
+        String argument;
+        if (lower.startsWith("gpu show ")) {
+            argument = arguments(command.substring("gpu show ".length()));
+        } else if (lower.startsWith("gpu add ")) {
+            argument = arguments(command.substring("gpu add ".length()));
+        } else {
+            return null;
+        }
+        if (argument.matches("\\d+")) {
+            int index = Integer.parseInt(argument);
+            return lastSearch != null && index >= 1 ? new Target(Kind.SHOW, lastSearch, index) : null;
+        }
+        return argument.isEmpty() ? null : new Target(Kind.DETAILS, argument, 0);
+    }
+
+    // Quita comillas y opciones (-a, -f campos, ...) de los argumentos de un comando
+    private static String arguments(String raw) {
+        List<String> words = new ArrayList<>();
+        String[] parts = raw.replace("\"", " ").trim().split("\\s+");
+        for (int i = 0; i < parts.length; i++) {
+            if (parts[i].startsWith("-")) {
+                if (Arrays.asList("-f", "--fields", "-l", "--limit").contains(parts[i])) {
+                    i++;
+                }
+                continue;
+            }
+            words.add(parts[i]);
+        }
+        return String.join(" ", words);
+    }
+}
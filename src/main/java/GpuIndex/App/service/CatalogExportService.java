@@ -0,0 +1,270 @@
+package GpuIndex.App.service;
+
+import GpuIndex.App.catalog.CatalogSnapshot;
+import GpuIndex.App.catalog.GpuColumns;
+import GpuIndex.App.catalog.GpuFilter;
+import GpuIndex.App.config.AppMetrics;
+import GpuIndex.App.model.Gpu;
+import GpuIndex.App.model.GpuFields;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Timer;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Exporta el catálogo publicado (o la parte que cumpla un filtro) fila a fila, sin montar la
+ * respuesta en memoria: lo único que crece con el catálogo es lo que ya se ha enviado.
+ */
+@Service
+public class CatalogExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogExportService.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public enum Format {
+        NDJSON("application/x-ndjson;charset=UTF-8", "ndjson"),
+        CSV("text/csv;charset=UTF-8", "csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format parse(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown export format: '" + name + "' (use ndjson, csv or xlsx)");
+            }
+        }
+    }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AppMetrics metrics;
+
+    @Autowired
+    private GpuFileService gpuFileService;
+
+    /**
+     * Escribe las GPUs de {@code catalog} que cumplan {@code filter} (null = todas), como mucho {@code limit}.
+     * {@code projection} null exporta la GPU completa en NDJSON y todos los campos en CSV y XLSX.
+     * Si el cliente se desconecta, la siguiente escritura falla y el recorrido se corta ahí (en XLSX
+     * el fichero solo se envía al final, pero las filas ya volcadas están en un temporal, no en el heap).
+     */
+    public int export(CatalogSnapshot catalog, Format format, GpuFilter filter, GpuFields.Projection projection,
+                      int limit, OutputStream out) throws IOException {
+        Timer.Sample sample = metrics.start();
+        try {
+            return switch (format) {
+                case NDJSON -> writeNdjson(catalog, filter, projection, limit, out);
+                case CSV -> writeCsv(catalog, filter, allFieldsIfNull(projection), limit, out);
+                case XLSX -> writeXlsx(catalog, filter, allFieldsIfNull(projection), limit, out);
+            };
+        } catch (IOException e) {
+            logger.debug("Exportación del catálogo interrumpida: {}", e.getMessage());
+            throw e;
+        } finally {
+            sample.stop(metrics.export("catalog", format.extension()));
+        }
+    }
+
+    /**
+     * NDJSON de la tabla {@code gpu} de gpus.db entera, en orden de id. Las filas vienen de
+     * {@link GpuFileService#forEachGpu}, así que ni la tabla ni la respuesta se montan en memoria.
+     */
+    public long exportTable(GpuFields.Projection projection, OutputStream out) throws IOException {
+        Timer.Sample sample = metrics.start();
+        try (NdjsonWriter ndjson = new NdjsonWriter(projection, out)) {
+            return gpuFileService.forEachGpu(gpu -> {
+                try {
+                    ndjson.write(gpu);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            logger.debug("Exportación de gpus.db interrumpida: {}", e.getCause().getMessage());
+            throw e.getCause();
+        } finally {
+            sample.stop(metrics.export("db", Format.NDJSON.extension()));
+        }
+    }
+
+    private int writeNdjson(CatalogSnapshot catalog, GpuFilter filter, GpuFields.Projection projection,
+                            int limit, OutputStream out) throws IOException {
+        int written = 0;
+        try (NdjsonWriter ndjson = new NdjsonWriter(projection, out)) {
+            GpuColumns columns = catalog.columns();
+            for (int id = 0, size = catalog.size(); id < size && written < limit; id++) {
+                if (filter != null && !filter.test(columns, id)) {
+                    continue;
+                }
+                ndjson.write(catalog.scan(id));
+                written++;
+            }
+        }
+        return written;
+    }
+
+    // Un solo generador para toda la respuesta; cerrarlo vacía el buffer pero deja abierto out
+    private final class NdjsonWriter implements AutoCloseable {
+
+        private final GpuFields.Projection projection;
+        private final List<String> names;
+        private final ObjectWriter gpuWriter;
+        private final JsonGenerator json;
+
+        NdjsonWriter(GpuFields.Projection projection, OutputStream out) throws IOException {
+            this.projection = projection;
+            this.names = projection != null ? projection.names() : List.of();
+            // writeValue no debe vaciar el buffer en cada fila
+            this.gpuWriter = objectMapper.writerFor(Gpu.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            this.json = objectMapper.getFactory().createGenerator(new BufferedOutputStream(out, BUFFER_SIZE));
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Sin el espacio que Jackson pone entre valores raíz: cada fila termina en '\n' y ya está
+            json.setPrettyPrinter(new MinimalPrettyPrinter(""));
+        }
+
+        void write(Gpu gpu) throws IOException {
+            if (projection == null) {
+                gpuWriter.writeValue(json, gpu);
+            } else {
+                json.writeStartObject();
+                for (int column = 0; column < projection.size(); column++) {
+                    json.writeObjectField(names.get(column), projection.value(gpu, column));
+                }
+                json.writeEndObject();
+            }
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            json.close();
+        }
+    }
+
+    private int writeCsv(CatalogSnapshot catalog, GpuFilter filter, GpuFields.Projection projection,
+                         int limit, OutputStream out) throws IOException {
+        Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        List<String> names = projection.names();
+        int columnCount = names.size();
+        for (int column = 0; column < columnCount; column++) {
+            if (column > 0) {
+                csv.write(',');
+            }
+            writeCsvValue(csv, names.get(column));
+        }
+        csv.write("\r\n");
+
+        int written = 0;
+        GpuColumns columns = catalog.columns();
+        for (int id = 0, size = catalog.size(); id < size && written < limit; id++) {
+            if (filter != null && !filter.test(columns, id)) {
+                continue;
+            }
+            Gpu gpu = catalog.scan(id);
+            for (int column = 0; column < columnCount; column++) {
+                if (column > 0) {
+                    csv.write(',');
+                }
+                Object value = projection.value(gpu, column);
+                if (value != null) {
+                    writeCsvValue(csv, value.toString());
+                }
+            }
+            csv.write("\r\n");
+            written++;
+        }
+        csv.flush();
+        return written;
+    }
+
+    private int writeXlsx(CatalogSnapshot catalog, GpuFilter filter, GpuFields.Projection projection,
+                          int limit, OutputStream out) throws IOException {
+        List<String> names = projection.names();
+        int columnCount = names.size();
+        try (XlsxSheetWriter xlsx = new XlsxSheetWriter("GPUs", columnCount)) {
+            CellStyle headerStyle = xlsx.createStyle();
+            Font headerFont = xlsx.createFont();
+            headerFont.setBold(true);
+            headerStyle.setFont(headerFont);
+            headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+            headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+            xlsx.header(names.toArray(new String[0]), headerStyle);
+
+            int written = 0;
+            GpuColumns columns = catalog.columns();
+            for (int id = 0, size = catalog.size(); id < size && written < limit; id++) {
+                if (filter != null && !filter.test(columns, id)) {
+                    continue;
+                }
+                Gpu gpu = catalog.scan(id);
+                Row row = xlsx.row();
+                for (int column = 0; column < columnCount; column++) {
+                    xlsx.cell(row, column, projection.value(gpu, column), null);
+                }
+                written++;
+            }
+            xlsx.write(out);
+            return written;
+        }
+    }
+
+    private static GpuFields.Projection allFieldsIfNull(GpuFields.Projection projection) {
+        return projection != null ? projection : GpuFields.projection(GpuFields.names());
+    }
+
+    // RFC 4180: entre comillas solo si hace falta, con las comillas internas duplicadas
+    private static void writeCsvValue(Writer csv, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            csv.write(value);
+            return;
+        }
+        csv.write('"');
+        csv.write(value.replace("\"", "\"\""));
+        csv.write('"');
+    }
+}
@@ -0,0 +1,104 @@
+package GpuIndex.App.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vigila el fichero externo del catálogo (gpu.catalog.file) y, cuando cambia, construye un catálogo
+ * nuevo en su propio hilo y lo publica en {@link DbService}. Solo se activa con gpu.catalog.watch=true.
+ */
+@Service
+public class CatalogWatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogWatcher.class);
+
+    // Los editores y las copias escriben en varios pasos: se espera a que el fichero deje de cambiar
+    private static final long QUIET_PERIOD_MS = 500;
+
+    @Autowired
+    private DbService dbService;
+
+    @Value("${gpu.catalog.file:}")
+    private String catalogFile;
+
+    @Value("${gpu.catalog.watch:false}")
+    private boolean watch;
+
+    private WatchService watchService;
+
+    @PostConstruct
+    public void start() {
+        if (!watch || catalogFile.isBlank()) {
+            return;
+        }
+        Path file = Paths.get(catalogFile.trim()).toAbsolutePath();
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            file.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            Thread.ofVirtual().name("catalog-watcher").start(() -> watchLoop(file));
+            logger.info("Vigilando cambios en el catálogo {}", file);
+        } catch (IOException e) {
+            logger.error("No se pudo vigilar el catálogo {}", file, e);
+        }
+    }
+
+    private void watchLoop(Path file) {
+        try {
+            while (true) {
+                if (!touches(watchService.take(), file)) {
+                    continue;
+                }
+                WatchKey next;
+                while ((next = watchService.poll(QUIET_PERIOD_MS, TimeUnit.MILLISECONDS)) != null) {
+                    touches(next, file);
+                }
+                reload();
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Parada normal
+        }
+    }
+
+    private static boolean touches(WatchKey key, Path file) {
+        boolean touched = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path changed && changed.equals(file.getFileName())) {
+                touched = true;
+            }
+        }
+        key.reset();
+        return touched;
+    }
+
+    private void reload() {
+        try {
+            dbService.reloadCatalog();
+        } catch (IOException | RuntimeException e) {
+            logger.error("No se pudo recargar el catálogo; se mantiene la versión {}", dbService.getCatalogVersion(), e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+}
@@ -1,104 +1,492 @@
 package GpuIndex.App.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import GpuIndex.App.catalog.CatalogSnapshot;
+import GpuIndex.App.catalog.GpuBinaryCatalog;
+import GpuIndex.App.catalog.GpuCatalogLoader;
+import GpuIndex.App.catalog.GpuFilter;
+import GpuIndex.App.catalog.GpuMetric;
+import GpuIndex.App.catalog.GpuLookupIndex;
+import GpuIndex.App.catalog.GpuSearchIndex;
+import GpuIndex.App.catalog.GpuSimilarityIndex;
+import GpuIndex.App.config.AppMetrics;
 import GpuIndex.App.model.Gpu;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.core.io.ClassPathResource;
 
 import jakarta.annotation.PostConstruct;
+import java.io.BufferedInputStream;
 import java.io.InputStream;
 import java.io.IOException;
-import java.time.LocalDate;
-import java.time.format.DateTimeParseException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 @Service
 public class DbService {
 
     private static final Logger logger = LoggerFactory.getLogger(DbService.class);
-    private List<Gpu> gpuDatabase;
+    private static final int MAX_SEARCH_RESULTS = 30;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final String CLASSPATH_CATALOG = "gpu_database.json";
+    private static final String SEARCH_CACHE = "gpuSearch";
+    private static final String PAGES_CACHE = "gpuSearchPages";
+    private static final String DETAILS_CACHE = "gpuDetails";
+    private static final List<String> CATALOG_CACHES = List.of(SEARCH_CACHE, PAGES_CACHE, DETAILS_CACHE, "gpuComparisons");
+
+    // ✅ LISTA DE BÚSQUEDAS DEMASIADO GENERALES (se bloquearán)
+    private static final List<String> TOO_GENERAL_SEARCHES = List.of(
+            "radeon", "amd", "geforce", "nvidia", "rtx", "gtx",
+            "intel", "graphics", "gpu", "video", "card"
+    );
+
+    private final GpuCatalogLoader catalogLoader = new GpuCatalogLoader(new ObjectMapper());
+    private final AtomicLong catalogVersions = new AtomicLong();
+    // Una recarga a la vez: la versión se toma al empezar a leer y se publica al terminar
+    private final Object reloadLock = new Object();
+
+    // Catálogo publicado: cada petición lo lee una sola vez y trabaja con esa versión
+    private volatile CatalogSnapshot snapshot = CatalogSnapshot.empty();
+
+    // Fichero externo del catálogo; vacío = gpu_database.json del classpath
+    @Value("${gpu.catalog.file:}")
+    private String catalogFile;
+
+    // Catálogo compilado con 'catalog compile'; se usa en el arranque si es más reciente que el JSON
+    @Value("${gpu.catalog.snapshot:gpu_database.bin}")
+    private String snapshotFile;
+
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
+    @Autowired
+    private AppMetrics metrics;
 
     @PostConstruct
     public void loadGpuDatabase() {
-        ObjectMapper mapper = new ObjectMapper();
-        try (InputStream inputStream = new ClassPathResource("gpu_database.json").getInputStream()) {
-            List<Gpu> allGpus = mapper.readValue(inputStream, mapper.getTypeFactory().constructCollectionType(List.class, Gpu.class));
-            logger.info("Base de datos de GPUs cargada. Total: {} GPUs.", allGpus.size());
-
-            final LocalDate cutoffDate = LocalDate.of(2013, 1, 1);
-            this.gpuDatabase = allGpus.stream()
-                    .filter(gpu -> {
-                        if (gpu.getReleaseDate() == null || gpu.getReleaseDate().trim().isEmpty()) {
-                            return false;
-                        }
-                        try {
-                            LocalDate releaseDate = LocalDate.parse(gpu.getReleaseDate());
-                            return !releaseDate.isBefore(cutoffDate);
-                        } catch (DateTimeParseException e) {
-                            logger.warn("Formato de fecha inválido para '{}': {}. Excluyendo de la búsqueda.", gpu.getName(), gpu.getReleaseDate());
-                            return false;
-                        }
-                    })
-                    .collect(Collectors.toList());
-
-            logger.info("Total de GPUs después de filtrar por fecha (>= 2013): {}", gpuDatabase.size());
-
+        metrics.bindCatalog(this::getSnapshot);
+        try {
+            publish(readCatalog());
         } catch (IOException e) {
-            logger.error("Error al cargar la base de datos de GPUs desde gpu_database.json", e);
-            gpuDatabase = Collections.emptyList();
+            logger.error("Error al cargar la base de datos de GPUs desde {}", describeSource(), e);
+            publish(CatalogSnapshot.build(catalogVersions.incrementAndGet(), describeSource(), Collections.emptyList()));
         }
     }
 
-    private String normalizeForSearch(String input) {
-        if (input == null) return "";
-        return input.toLowerCase().replaceAll("\\s+", " ").trim();
+    public void loadGpuDatabase(InputStream inputStream) throws IOException {
+        publish(buildSnapshot(inputStream, "stream", catalogVersions.incrementAndGet()));
     }
 
-    @Cacheable("gpuSearch")
-    public List<Map<String, String>> searchGpuResults(String query) {
-        if (gpuDatabase.isEmpty()) {
-            return Collections.emptyList();
+    /**
+     * Vuelve a leer el catálogo configurado y lo publica. Todo el trabajo (parseo e índices) se hace
+     * en el hilo que llama; si falla se mantiene el catálogo actual.
+     */
+    public CatalogSnapshot reloadCatalog() throws IOException {
+        synchronized (reloadLock) {
+            CatalogSnapshot fresh = readCatalog();
+            publish(fresh);
+            return fresh;
         }
+    }
 
-        final String lowerQuery = query.toLowerCase().trim();
+    // El compilado vale si salió del mismo JSON (tamaño y fecha) con la misma fecha de corte
+    private CatalogSnapshot readCatalog() throws IOException {
+        Path compiled = compiledCatalog();
+        if (compiled != null) {
+            try {
+                GpuBinaryCatalog file = GpuBinaryCatalog.map(compiled);
+                GpuBinaryCatalog.Origin origin = jsonOrigin();
+                if (origin == null || origin.equals(file.origin())) {
+                    return mapCatalog(file);
+                }
+                logger.info("El catálogo compilado {} no corresponde al JSON actual ({} frente a {}); se ignora (ejecute 'catalog compile')",
+                        compiled, file.origin(), origin);
+            } catch (IOException e) {
+                logger.warn("No se pudo usar el catálogo compilado {}, se lee el JSON: {}", compiled, e.getMessage());
+            }
+        }
+        return readJsonCatalog(catalogVersions.incrementAndGet());
+    }
 
-        // ✅ LISTA DE BÚSQUEDAS DEMASIADO GENERALES (se bloquearán)
-        List<String> tooGeneralSearches = Arrays.asList(
-                "radeon", "amd", "geforce", "nvidia", "rtx", "gtx",
-                "intel", "graphics", "gpu", "video", "card"
-        );
+    private CatalogSnapshot readJsonCatalog(long version) throws IOException {
+        try (InputStream inputStream = openJsonCatalog()) {
+            return buildSnapshot(inputStream, describeSource(), version);
+        }
+    }
+
+    /** Abre el JSON del catálogo configurado (gpu.catalog.file o el del classpath); lo cierra quien llama. */
+    public InputStream openJsonCatalog() throws IOException {
+        Path external = externalCatalog();
+        if (external != null) {
+            return new BufferedInputStream(Files.newInputStream(external));
+        }
+        return new ClassPathResource(CLASSPATH_CATALOG).getInputStream();
+    }
+
+    public String getJsonCatalogSource() {
+        return describeSource();
+    }
+
+    private CatalogSnapshot buildSnapshot(InputStream inputStream, String source, long version) throws IOException {
+        // El filtro por fecha se aplica al leer cada GPU, no sobre la lista completa
+        List<Gpu> gpus = catalogLoader.load(inputStream, GpuCatalogLoader.releasedSince(GpuCatalogLoader.DEFAULT_CUTOFF));
+        CatalogSnapshot built = CatalogSnapshot.build(version, source, gpus);
+        logger.info("Total de GPUs después de filtrar por fecha (>= 2013): {} (versión {})", built.size(), built.version());
+        return built;
+    }
+
+    private CatalogSnapshot mapCatalog(GpuBinaryCatalog file) {
+        long start = System.nanoTime();
+        CatalogSnapshot mapped = CatalogSnapshot.mapped(catalogVersions.incrementAndGet(), file);
+        logger.info("Catálogo compilado {} mapeado en {} ms: {} GPUs (versión {})",
+                file.path(), (System.nanoTime() - start) / 1_000_000, mapped.size(), mapped.version());
+        return mapped;
+    }
+
+    public record CompiledCatalog(Path file, CatalogSnapshot catalog) {
+    }
+
+    /**
+     * Lee el catálogo JSON configurado y lo escribe en formato binario en una generación nueva de
+     * gpu.catalog.snapshot (nunca sobre el fichero que pueda estar mapeado). No publica nada: el
+     * contenido es el mismo que el del catálogo actual.
+     */
+    public CompiledCatalog compileCatalog() throws IOException {
+        Path base = getCompiledCatalogPath();
+        if (base == null) {
+            throw new IOException("gpu.catalog.snapshot is not configured");
+        }
+        // El origen se toma antes de leer: si el JSON cambia mientras tanto, el compilado queda desfasado
+        GpuBinaryCatalog.Origin origin = jsonOrigin();
+        CatalogSnapshot compiled = readJsonCatalog(snapshot.version());
+        Path target = GpuBinaryCatalog.nextGeneration(base);
+        GpuBinaryCatalog.write(compiled, origin != null ? origin : new GpuBinaryCatalog.Origin(0, 0, cutoff()), target);
+        int deleted = GpuBinaryCatalog.deleteOlderGenerations(base, target, snapshot.mappedFile());
+        logger.info("Catálogo compilado en {} ({} GPUs, {} bytes; {} generaciones anteriores borradas)",
+                target, compiled.size(), Files.size(target), deleted);
+        return new CompiledCatalog(target, compiled);
+    }
+
+    public Path getCompiledCatalogPath() {
+        return snapshotFile == null || snapshotFile.isBlank() ? null : Paths.get(snapshotFile.trim());
+    }
+
+    // Nunca publica una versión anterior a la actual (una lectura lenta que termina después de otra más nueva)
+    private synchronized void publish(CatalogSnapshot fresh) {
+        CatalogSnapshot previous = snapshot;
+        if (fresh.version() < previous.version()) {
+            logger.warn("Catálogo v{} descartado: ya está publicada la v{}", fresh.version(), previous.version());
+            return;
+        }
+        snapshot = fresh;
+        if (previous.version() != 0) {
+            evictSupersededEntries(fresh.version());
+            logger.info("Catálogo v{} publicado ({} GPUs), sustituye a v{}", fresh.version(), fresh.size(), previous.version());
+        }
+    }
+
+    // Las cachés van por versión de catálogo: solo se quitan las entradas de versiones anteriores
+    private void evictSupersededEntries(long currentVersion) {
+        if (cacheManager == null) {
+            return;
+        }
+        String prefix = currentVersion + ":";
+        for (String cacheName : CATALOG_CACHES) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                nativeCache.asMap().keySet().removeIf(key -> !key.toString().startsWith(prefix));
+            }
+        }
+    }
+
+    private Path externalCatalog() {
+        if (catalogFile == null || catalogFile.isBlank()) {
+            return null;
+        }
+        Path path = Paths.get(catalogFile.trim());
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    private Path compiledCatalog() throws IOException {
+        Path base = getCompiledCatalogPath();
+        return base != null ? GpuBinaryCatalog.latestGeneration(base) : null;
+    }
+
+    // Sin JSON (p. ej. solo se distribuye el .bin) es null y vale cualquier catálogo compilado
+    private GpuBinaryCatalog.Origin jsonOrigin() throws IOException {
+        Path external = externalCatalog();
+        if (external != null) {
+            return new GpuBinaryCatalog.Origin(Files.size(external),
+                    Files.getLastModifiedTime(external).toMillis(), cutoff());
+        }
+        ClassPathResource resource = new ClassPathResource(CLASSPATH_CATALOG);
+        return resource.exists()
+                ? new GpuBinaryCatalog.Origin(resource.contentLength(), resource.lastModified(), cutoff())
+                : null;
+    }
+
+    private static String cutoff() {
+        return GpuCatalogLoader.DEFAULT_CUTOFF.toString();
+    }
+
+    private String describeSource() {
+        Path external = externalCatalog();
+        return external != null ? external.toString() : "classpath:" + CLASSPATH_CATALOG;
+    }
+
+    public long getCatalogVersion() {
+        return snapshot.version();
+    }
+
+    public CatalogSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Página de búsqueda por relevancia. {@code nextCursor} es opaco (versión del catálogo + posición)
+     * y es null si no hay más resultados.
+     */
+    public record SearchPage(List<Map<String, String>> results, int total, String nextCursor) {
+        public boolean hasMore() {
+            return nextCursor != null;
+        }
+    }
+
+    /**
+     * Consulta tal como se busca y como va en las claves de caché: "RTX 4060 " y "rtx 4060" comparten
+     * resultados y entrada (el precalentado del historial usa la misma forma).
+     */
+    public String searchKey(String query) {
+        return query.toLowerCase(Locale.ROOT).trim();
+    }
+
+    public List<Map<String, String>> searchGpuResults(String query) {
+        CatalogSnapshot current = snapshot;
+        return cached(SEARCH_CACHE, current.version() + ":" + searchKey(query),
+                () -> rankedPage(current, query, -1, MAX_SEARCH_RESULTS).results());
+    }
+
+    /**
+     * Resultados ordenados por relevancia a partir de {@code cursor} (null = primera página).
+     * Lanza {@link IllegalArgumentException} si el cursor no es válido o es de otra versión del catálogo.
+     */
+    public SearchPage searchPage(String query, String cursor, int limit) {
+        CatalogSnapshot current = snapshot;
+        long after = cursor == null || cursor.isBlank() ? -1 : decodeCursor(cursor, current.version());
+        return cached(PAGES_CACHE, current.version() + ":" + limit + ":" + cursor + ":" + searchKey(query),
+                () -> rankedPage(current, query, after, Math.max(1, Math.min(limit, MAX_PAGE_SIZE))));
+    }
+
+    /**
+     * Caché por versión del catálogo. La clave y el valor salen del mismo snapshot, leído una vez por
+     * el llamador: una recarga a mitad no puede dejar resultados de una versión bajo la clave de otra.
+     */
+    private <T> T cached(String cacheName, String key, Supplier<T> loader) {
+        Cache cache = cacheManager != null ? cacheManager.getCache(cacheName) : null;
+        return cache != null ? cache.get(key, loader::get) : loader.get();
+    }
+
+    private SearchPage rankedPage(CatalogSnapshot current, String query, long after, int limit) {
+        Timer.Sample sample = metrics.start();
+        try {
+            return rank(current, searchKey(query), after, limit);
+        } finally {
+            sample.stop(metrics.search());
+        }
+    }
+
+    private SearchPage rank(CatalogSnapshot current, String lowerQuery, long after, int limit) {
+        if (current.size() == 0) {
+            return new SearchPage(Collections.emptyList(), 0, null);
+        }
 
         // Verificar si la búsqueda es demasiado general
-        for (String generalTerm : tooGeneralSearches) {
+        for (String generalTerm : TOO_GENERAL_SEARCHES) {
             if (lowerQuery.equals(generalTerm) ||
                     lowerQuery.equals("amd " + generalTerm) ||
                     lowerQuery.equals("nvidia " + generalTerm)) {
-                return Collections.emptyList(); // ✅ Retorna lista vacía para forzar el mensaje
+                return new SearchPage(Collections.emptyList(), 0, null); // ✅ Retorna lista vacía para forzar el mensaje
+            }
+        }
+
+        // Solo se ordenan los 'limit' mejores; el resto de coincidencias solo se cuenta
+        GpuSearchIndex.Page page = current.searchIndex().searchRanked(lowerQuery, limit, after);
+        List<Map<String, String>> results = new ArrayList<>(page.ids().length);
+        for (int id : page.ids()) {
+            results.add(toSearchResult(current.gpu(id)));
+        }
+        String next = page.hasMore() ? encodeCursor(current.version(), page.next()) : null;
+        return new SearchPage(results, page.total(), next);
+    }
+
+    private static String encodeCursor(long version, long position) {
+        String raw = version + ":" + position;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String cursor, long currentVersion) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8).split(":");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            if (Long.parseLong(parts[0]) != currentVersion) {
+                throw new IllegalArgumentException("Cursor expired: the catalog was reloaded, repeat the search");
             }
+            return Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
         }
+    }
 
-        // Búsqueda normal para términos específicos
-        return gpuDatabase.stream()
-                .filter(gpu -> gpu.getName().toLowerCase().contains(lowerQuery))
-                .sorted(Comparator.comparing(Gpu::getName))
-                .limit(30)
-                .map(gpu -> Map.of(
-                        "title", gpu.getName(),
-                        "url", "local://" + gpu.getName().toLowerCase().replace(" ", "-"),
-                        "description", "Datos locales."
-                ))
-                .collect(Collectors.toList());
+    // Mismo formato que los resultados de búsqueda, para que 'gpu show <n>' funcione con cualquier listado
+    public Map<String, String> toSearchResult(Gpu gpu) {
+        return Map.of(
+                "title", gpu.getName(),
+                "url", GpuLookupIndex.urlOf(gpu.getName()),
+                "description", "Datos locales."
+        );
     }
 
-    @Cacheable("gpuDetails")
     public Gpu getGpuDetails(String gpuName) throws IOException {
-        return gpuDatabase.stream()
-                .filter(gpu -> gpu.getName().equalsIgnoreCase(gpuName))
-                .findFirst()
-                .orElseThrow(() -> new IOException("GPU not found in the local data base: " + gpuName));
+        Timer.Sample sample = metrics.start();
+        try {
+            CatalogSnapshot current = snapshot;
+            // Una GPU que no existe no llega a la caché
+            int id = current.lookupIndex().idOfName(gpuName);
+            if (id < 0) {
+                throw new IOException("GPU not found in the local data base: " + gpuName);
+            }
+            return cached(DETAILS_CACHE, current.version() + ":" + gpuName, () -> current.gpu(id));
+        } finally {
+            sample.stop(metrics.details());
+        }
+    }
+
+    // Resuelve las URLs local://<slug> que devuelve searchGpuResults (o un slug suelto)
+    public Gpu getGpuDetailsByUrl(String url) throws IOException {
+        Timer.Sample sample = metrics.start();
+        try {
+            CatalogSnapshot current = snapshot;
+            int id = current.lookupIndex().idOfUrl(url);
+            if (id < 0) {
+                id = current.lookupIndex().idOfName(url);
+            }
+            if (id < 0) {
+                throw new IOException("GPU not found in the local data base: " + url);
+            }
+            return current.gpu(id);
+        } finally {
+            sample.stop(metrics.details());
+        }
+    }
+
+    /** Resultado de un elemento de {@link #getGpuDetailsBatch}: {@code gpu} es null si no existe. */
+    public record DetailsMatch(String query, Gpu gpu) {
+        public boolean found() {
+            return gpu != null;
+        }
+    }
+
+    /**
+     * Resuelve de una vez varios nombres, URLs local:// o slugs contra la misma versión del catálogo.
+     * Devuelve un elemento por consulta y en el mismo orden; las que no existen llevan gpu = null.
+     */
+    public List<DetailsMatch> getGpuDetailsBatch(List<String> queries) {
+        if (queries.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Too many GPUs in one batch (max " + MAX_BATCH_SIZE + ")");
+        }
+        Timer.Sample sample = metrics.start();
+        try {
+            CatalogSnapshot current = snapshot;
+            GpuLookupIndex lookup = current.lookupIndex();
+            List<DetailsMatch> matches = new ArrayList<>(queries.size());
+            for (String query : queries) {
+                int id = lookup.idOfName(query);
+                if (id < 0) {
+                    id = lookup.idOfUrl(query);
+                }
+                matches.add(new DetailsMatch(query, id >= 0 ? current.gpu(id) : null));
+            }
+            return matches;
+        } finally {
+            sample.stop(metrics.detailsBatch());
+        }
+    }
+
+    public record SimilarGpu(Gpu gpu, double distance) {
+    }
+
+    public record SimilarGpus(Gpu gpu, List<SimilarGpu> similar) {
+    }
+
+    /**
+     * Las {@code k} GPUs más parecidas a la indicada (nombre, URL local:// o slug) según
+     * {@link GpuSimilarityIndex}, de la más cercana a la más lejana. No recorre el catálogo: consulta el
+     * kd-tree de la versión publicada.
+     */
+    public SimilarGpus findSimilar(String query, int k) throws IOException {
+        if (k < 1 || k > GpuSimilarityIndex.MAX_K) {
+            throw new IllegalArgumentException("k must be between 1 and " + GpuSimilarityIndex.MAX_K);
+        }
+        Timer.Sample sample = metrics.start();
+        try {
+            CatalogSnapshot current = snapshot;
+            int id = current.lookupIndex().idOfName(query);
+            if (id < 0) {
+                id = current.lookupIndex().idOfUrl(query);
+            }
+            if (id < 0) {
+                throw new IOException("GPU not found in the local data base: " + query);
+            }
+            List<GpuSimilarityIndex.Neighbor> neighbors = current.similarityIndex().nearest(id, k);
+            List<SimilarGpu> similar = new ArrayList<>(neighbors.size());
+            for (GpuSimilarityIndex.Neighbor neighbor : neighbors) {
+                similar.add(new SimilarGpu(current.gpu(neighbor.row()), neighbor.distance()));
+            }
+            return new SimilarGpus(current.gpu(id), similar);
+        } finally {
+            sample.stop(metrics.similar());
+        }
+    }
+
+    // Catálogo completo (ya filtrado y ordenado por nombre), solo lectura
+    public List<Gpu> getCatalog() {
+        return snapshot.gpus();
+    }
+
+    // Consultas por rango sobre las columnas numéricas, p. ej. "vram>=12, bandwidth>=500"
+    public List<Gpu> filterGpus(GpuFilter filter, int limit) {
+        return filterGpus(filter, null, limit);
+    }
+
+    // Con sortBy, los mejores por esa métrica (GpuColumns.best); sin él, por nombre
+    public List<Gpu> filterGpus(GpuFilter filter, GpuMetric sortBy, int limit) {
+        CatalogSnapshot current = snapshot;
+        int[] hits = sortBy == null
+                ? filter.apply(current.columns(), limit)
+                : current.columns().best(filter.apply(current.columns(), Integer.MAX_VALUE), sortBy, limit);
+        List<Gpu> results = new ArrayList<>(hits.length);
+        for (int id : hits) {
+            results.add(current.gpu(id));
+        }
+        return results;
     }
-}
\ No newline at end of file
+}
@@ -1,78 +1,289 @@
 package GpuIndex.App.service;
 
+import GpuIndex.App.catalog.CatalogSnapshot;
+import GpuIndex.App.catalog.GpuColumns;
+import GpuIndex.App.catalog.GpuComparison;
+import GpuIndex.App.catalog.GpuLookupIndex;
+import GpuIndex.App.catalog.GpuMetric;
+import GpuIndex.App.config.AppMetrics;
 import GpuIndex.App.model.Gpu;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
 @Service
 public class GpuComparisonService {
 
+    private static final String PAIR_CACHE = "gpuComparisons";
+    private static final String NOT_FOUND =
+            "❌ Error: Una o ambas GPUs no se encontraron. Asegúrate de usar los nombres exactos de la búsqueda.";
+
+    private static final List<Spec> SPECS = List.of(
+            new Spec("Arquitectura", Gpu::getArchitecture, "%s"),
+            new Spec("Frec. Base (MHz)", Gpu::getBaseClock, "%d"),
+            new Spec("Frec. Boost (MHz)", Gpu::getBoostClock, "%d"),
+            new Spec("Memoria (GB)", Gpu::getMemorySize, "%.1f"),
+            new Spec("Tipo de Memoria", Gpu::getMemoryType, "%s"),
+            new Spec("Bus Memoria (bits)", Gpu::getMemoryBus, "%d"),
+            new Spec("Ancho de Banda (GB/s)", Gpu::getBandwidth, "%.1f"),
+            new Spec("Unid. Sombreado", Gpu::getShadingUnits, "%d"),
+            new Spec("Rendimiento FP32 (GFLOPs)", Gpu::getFp32, "%.2f"),
+            // Ya en vatios: columnas del catálogo, leídas del texto una sola vez al cargarlo
+            new Spec("TDP (W)", GpuMetric.TDP, "%.0f"),
+            new Spec("PSU Sugerida (W)", GpuMetric.SUGGESTED_PSU, "%.0f"),
+            new Spec("FP32 por vatio (GFLOPs/W)", GpuMetric.FP32_PER_WATT, "%.1f"));
+
+    // Anchos de columna del informe de dos GPUs (los de "%-25s" y " %-24s")
+    private static final int LABEL_WIDTH = 25;
+    private static final int NAME_WIDTH = 25;
+    private static final int VALUE_WIDTH = 24;
+    private static final String PADDING = " ".repeat(LABEL_WIDTH);
+    private static final String REPORT_TOP = "══════════════════════════ COMPARACIÓN DE GPUs ══════════════════════════\n";
+    private static final String REPORT_RULE = "───────────────────────────────────────────────────────────────────────────\n";
+    private static final String REPORT_BOTTOM = "═══════════════════════════════════════════════════════════════════════════\n";
+    private static final String SPEC_HEADER = padded("ESPECIFICACIÓN", LABEL_WIDTH) + " ";
+    private static final String[] SPEC_LABELS = SPECS.stream()
+            .map(spec -> padded(spec.label(), LABEL_WIDTH))
+            .toArray(String[]::new);
+    private static final ThreadLocal<StringBuilder> REPORT_BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(2048));
+
+    // Las que enseña 'list compare' si no se piden otras
+    public static final List<GpuMetric> DEFAULT_METRICS = List.of(
+            GpuMetric.FP32, GpuMetric.BANDWIDTH, GpuMetric.MEMORY_SIZE, GpuMetric.BOOST_CLOCK, GpuMetric.SHADING_UNITS);
+
     @Autowired
     private GpuFileService gpuFileService;
 
     @Autowired
     private DbService dbService;
 
+    @Autowired
+    private AppMetrics metrics;
+
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
+    /**
+     * Informe de dos GPUs. El par se resuelve a ids del catálogo y las celdas formateadas se guardan en
+     * la caché gpuComparisons bajo (versión, id menor, id mayor): "A vs B" y "B vs A" comparten entrada
+     * y una recarga del catálogo las deja atrás. En un acierto solo queda componer el texto.
+     */
     public String compareGpus(String gpu1Name, String gpu2Name) {
+        Timer.Sample sample = metrics.start();
         try {
-            Gpu gpu1 = dbService.getGpuDetails(gpu1Name);
-            Gpu gpu2 = dbService.getGpuDetails(gpu2Name);
-
-            return generateComparisonReport(gpu1, gpu2);
+            CatalogSnapshot current = dbService.getSnapshot();
+            int id1 = current.lookupIndex().idOfName(gpu1Name);
+            int id2 = current.lookupIndex().idOfName(gpu2Name);
+            if (id1 < 0 || id2 < 0) {
+                return NOT_FOUND;
+            }
+            PairReport pair = pairReport(current, Math.min(id1, id2), Math.max(id1, id2));
+            return id1 <= id2 ? renderPair(pair, 0, 1) : renderPair(pair, 1, 0);
         } catch (Exception e) {
-            return "❌ Error: Una o ambas GPUs no se encontraron. Asegúrate de usar los nombres exactos de la búsqueda.";
+            return NOT_FOUND;
+        } finally {
+            sample.stop(metrics.comparison());
+        }
+    }
+
+    /**
+     * Compara a la vez todas las GPUs de {@code queries} (nombres, URLs local:// o slugs) en
+     * {@code compared}, o en todas las métricas si es null. Las que no están en el catálogo salen en
+     * {@code missing}; hacen falta al menos dos que sí estén.
+     */
+    public GpuComparison.Matrix compareAll(List<String> queries, List<GpuMetric> compared) {
+        if (queries.size() > GpuComparison.MAX_GPUS) {
+            throw new IllegalArgumentException("Too many GPUs to compare (max " + GpuComparison.MAX_GPUS + ")");
+        }
+        Timer.Sample sample = metrics.start();
+        try {
+            CatalogSnapshot current = dbService.getSnapshot();
+            GpuLookupIndex lookup = current.lookupIndex();
+            int[] rows = new int[queries.size()];
+            int found = 0;
+            List<String> names = new ArrayList<>(queries.size());
+            List<String> missing = new ArrayList<>();
+            for (String query : queries) {
+                int id = lookup.idOfName(query);
+                if (id < 0) {
+                    id = lookup.idOfUrl(query);
+                }
+                if (id < 0) {
+                    missing.add(query);
+                    continue;
+                }
+                rows[found++] = id;
+                names.add(current.gpu(id).getName());
+            }
+            if (found < 2) {
+                throw new IllegalArgumentException("At least two GPUs from the catalog are needed to compare (found "
+                        + found + ")");
+            }
+            return GpuComparison.compare(current.version(), current.columns(), Arrays.copyOf(rows, found), names,
+                    missing, compared != null ? compared : List.of(GpuMetric.values()));
+        } finally {
+            sample.stop(metrics.comparison());
         }
     }
 
-    private String generateComparisonReport(Gpu gpu1, Gpu gpu2) {
+    /** Tabla para la shell: una fila por GPU, de mayor a menor puntuación global. */
+    public String renderMatrix(String title, GpuComparison.Matrix matrix) {
+        List<GpuComparison.MetricRow> rows = matrix.metrics();
+        Integer[] order = new Integer[matrix.gpus().size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Double[] overall = matrix.overall();
+        Arrays.sort(order, Comparator.comparing((Integer i) -> overall[i],
+                Comparator.nullsLast(Comparator.reverseOrder())));
+
         StringBuilder report = new StringBuilder();
-        Gpu[] gpus = {gpu1, gpu2};
-
-        report.append("══════════════════════════ COMPARACIÓN DE GPUs ══════════════════════════\n");
-        report.append(String.format("%-25s %-25s %-25s\n", "ESPECIFICACIÓN",
-                gpu1.getName().length() > 23 ? gpu1.getName().substring(0, 23) + ".." : gpu1.getName(),
-                gpu2.getName().length() > 23 ? gpu2.getName().substring(0, 23) + ".." : gpu2.getName()));
-        report.append("───────────────────────────────────────────────────────────────────────────\n");
-
-        addSpecificationRow(report, "Arquitectura", gpus, Gpu::getArchitecture, "%s");
-        addSpecificationRow(report, "Frec. Base (MHz)", gpus, Gpu::getBaseClock, "%d");
-        addSpecificationRow(report, "Frec. Boost (MHz)", gpus, Gpu::getBoostClock, "%d");
-        addSpecificationRow(report, "Memoria (GB)", gpus, Gpu::getMemorySize, "%.1f");
-        addSpecificationRow(report, "Tipo de Memoria", gpus, Gpu::getMemoryType, "%s");
-        addSpecificationRow(report, "Bus Memoria (bits)", gpus, Gpu::getMemoryBus, "%d");
-        addSpecificationRow(report, "Ancho de Banda (GB/s)", gpus, Gpu::getBandwidth, "%.1f");
-        addSpecificationRow(report, "Unid. Sombreado", gpus, Gpu::getShadingUnits, "%d");
-        addSpecificationRow(report, "Rendimiento FP32 (GFLOPs)", gpus, Gpu::getFp32, "%.2f");
-        addSpecificationRow(report, "TDP (W)", gpus, Gpu::getTdp, "%s");
-        addSpecificationRow(report, "PSU Sugerida (W)", gpus, Gpu::getSuggestedPsu, "%s");
-        report.append("═══════════════════════════════════════════════════════════════════════════\n");
+        report.append("COMPARISON: ").append(title).append(" (").append(order.length).append(" GPUs, ")
+                .append(rows.size()).append(" metrics)\n");
+        report.append(String.format("%-4s %-28s %6s", "#", "GPU", "SCORE"));
+        for (GpuComparison.MetricRow row : rows) {
+            // Alias corto de la shell (fp32, bandwidth...) en vez de la propiedad JSON
+            GpuMetric metric = GpuMetric.fromName(row.metric());
+            String heading = metric.aliases().isEmpty() ? metric.key() : metric.aliases().get(0);
+            report.append(String.format(" %18s", truncate(heading, 18)));
+        }
+        report.append("\n");
+        report.append(String.format("%-4s %-28s %6s", "", "best", ""));
+        for (GpuComparison.MetricRow row : rows) {
+            report.append(String.format(" %18s", (formatValue(row.best()) + " " + row.unit()).trim()));
+        }
+        report.append("\n").append("─".repeat(40 + 19 * rows.size())).append("\n");
 
+        for (int rank = 0; rank < order.length; rank++) {
+            int i = order[rank];
+            report.append(String.format("%-4d %-28s %6s", rank + 1, truncate(matrix.gpus().get(i), 28),
+                    overall[i] != null ? String.format("%.1f", overall[i]) : "N/A"));
+            for (GpuComparison.MetricRow row : rows) {
+                Double value = row.values()[i];
+                Double delta = row.deltaPercent()[i];
+                // "(best)" solo si alguna GPU queda por detrás; sin porcentaje si la mejor es 0
+                String cell = value == null ? "N/A"
+                        : value == row.best() ? formatValue(value) + (row.best() != row.worst() ? " (best)" : "")
+                        : delta == null ? formatValue(value)
+                        : String.format("%s (%+.0f%%)", formatValue(value), delta);
+                report.append(String.format(" %18s", cell));
+            }
+            report.append("\n");
+        }
+        if (!matrix.missing().isEmpty()) {
+            report.append("\nNot in the catalog: ").append(String.join(", ", matrix.missing())).append("\n");
+        }
+        report.append("\nSCORE: 0-100 average over the metrics, 100 = best in every one");
         return report.toString();
     }
 
-    private interface GpuValueGetter<T> {
-        T getValue(Gpu gpu);
+    private static String formatValue(double value) {
+        return value == Math.rint(value) && Math.abs(value) < 1e15
+                ? String.valueOf((long) value)
+                : String.format("%.1f", value);
     }
 
-    private <T> void addSpecificationRow(StringBuilder report, String specName, Gpu[] gpus,
-                                         GpuValueGetter<T> getter, String format) {
-        report.append(String.format("%-25s", specName));
-        for (Gpu gpu : gpus) {
-            if (gpu != null) {
-                T value = getter.getValue(gpu);
-                String formattedValue = "N/A";
-                if (value != null) {
-                    if (value instanceof Double || value instanceof Integer) {
-                        formattedValue = String.format(format, value);
-                    } else {
-                        formattedValue = value.toString();
-                    }
-                }
-                report.append(String.format(" %-24s", formattedValue));
-            } else {
-                report.append(String.format(" %-24s", "N/A"));
+    private static String padded(String text, int width) {
+        return text.length() < width ? text + " ".repeat(width - text.length()) : text;
+    }
+
+    private static String truncate(String text, int width) {
+        return text.length() > width ? text.substring(0, width - 2) + ".." : text;
+    }
+
+    private PairReport pairReport(CatalogSnapshot catalog, int low, int high) {
+        Cache cache = cacheManager != null ? cacheManager.getCache(PAIR_CACHE) : null;
+        if (cache == null) {
+            return buildPairReport(catalog, low, high);
+        }
+        return cache.get(catalog.version() + ":" + low + ":" + high, () -> buildPairReport(catalog, low, high));
+    }
+
+    // Todo el formateo del informe se hace aquí, una vez por par
+    static PairReport buildPairReport(CatalogSnapshot catalog, int first, int second) {
+        int[] ids = {first, second};
+        String[] names = new String[2];
+        String[][] cells = new String[2][SPECS.size()];
+        for (int g = 0; g < 2; g++) {
+            Gpu gpu = catalog.gpu(ids[g]);
+            String name = gpu.getName();
+            names[g] = name.length() > 23 ? name.substring(0, 23) + ".." : name;
+            for (int row = 0; row < SPECS.size(); row++) {
+                cells[g][row] = SPECS.get(row).format(gpu, catalog.columns(), ids[g]);
             }
         }
-        report.append("\n");
+        return new PairReport(names, cells);
+    }
+
+    /**
+     * Compone el informe con {@code left} en la primera columna. Escribe en un buffer del hilo que se
+     * reutiliza y rellena las columnas con trozos de {@link #PADDING}: lo único que se crea es el String final.
+     */
+    static String renderPair(PairReport pair, int left, int right) {
+        StringBuilder report = REPORT_BUFFER.get();
+        report.setLength(0);
+        report.append(REPORT_TOP).append(SPEC_HEADER);
+        pad(report.append(pair.names()[left]), pair.names()[left].length(), NAME_WIDTH);
+        report.append(' ');
+        pad(report.append(pair.names()[right]), pair.names()[right].length(), NAME_WIDTH);
+        report.append('\n').append(REPORT_RULE);
+        for (int row = 0; row < SPECS.size(); row++) {
+            report.append(SPEC_LABELS[row]);
+            appendCell(report, pair.cells()[left][row]);
+            appendCell(report, pair.cells()[right][row]);
+            report.append('\n');
+        }
+        report.append(REPORT_BOTTOM);
+        return report.toString();
+    }
+
+    private static void appendCell(StringBuilder report, String cell) {
+        pad(report.append(' ').append(cell), cell.length(), VALUE_WIDTH);
+    }
+
+    private static void pad(StringBuilder report, int length, int width) {
+        if (length < width) {
+            report.append(PADDING, 0, width - length);
+        }
+    }
+
+    /**
+     * Una fila del informe de dos GPUs: un campo de {@link Gpu} o una métrica de las columnas del
+     * catálogo. {@code format} se aplica a los números; el resto sale tal cual.
+     */
+    private record Spec(String label, Function<Gpu, Object> getter, GpuMetric metric, String format) {
+        Spec(String label, Function<Gpu, Object> getter, String format) {
+            this(label, getter, null, format);
+        }
+
+        Spec(String label, GpuMetric metric, String format) {
+            this(label, null, metric, format);
+        }
+
+        String format(Gpu gpu, GpuColumns columns, int id) {
+            if (metric != null) {
+                double value = columns.value(metric, id);
+                return Double.isNaN(value) ? "N/A" : String.format(format, value);
+            }
+            Object value = getter.apply(gpu);
+            if (value == null) {
+                return "N/A";
+            }
+            return value instanceof Double || value instanceof Integer
+                    ? String.format(format, value)
+                    : value.toString();
+        }
+    }
+
+    /** Celdas ya formateadas de un par, en orden de id del catálogo: {@code cells[gpu][fila]}. */
+    record PairReport(String[] names, String[][] cells) {
     }
 }
\ No newline at end of file
@@ -1,19 +1,34 @@
 package GpuIndex.App.service;
 
 import GpuIndex.App.model.Gpu;
+import GpuIndex.App.repository.GpuFullTextIndex;
 import GpuIndex.App.repository.GpuRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class GpuFileService {
 
+    private static final int DEFAULT_SEARCH_LIMIT = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    // Entidades que se dejan acumular en el contexto de persistencia durante un recorrido completo
+    private static final int CLEAR_EVERY = 1000;
+
     @Autowired
     private GpuRepository gpuRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Transactional
     public void saveGpu(Gpu gpu) {
         gpuRepository.save(gpu);
@@ -21,7 +36,17 @@ public class GpuFileService {
 
     @Transactional(readOnly = true)
     public List<Gpu> searchGpus(String query) {
-        return gpuRepository.searchByName(query);
+        return searchGpus(query, DEFAULT_SEARCH_LIMIT);
+    }
+
+    // Por el índice de texto: términos como prefijo, los más relevantes primero
+    @Transactional(readOnly = true)
+    public List<Gpu> searchGpus(String query, int limit) {
+        String match = GpuFullTextIndex.matchQuery(query);
+        if (match == null) {
+            return List.of();
+        }
+        return gpuRepository.searchRanked(match, limit);
     }
 
     @Transactional(readOnly = true)
@@ -34,8 +59,35 @@ public class GpuFileService {
         return gpuRepository.existsByName(name);
     }
 
+    /**
+     * Página de la tabla en orden de id, empezando después de {@code afterId} (null o vacío = desde el
+     * principio). La siguiente página se pide con el id de la última GPU devuelta.
+     */
+    @Transactional(readOnly = true)
+    public List<Gpu> getGpusAfter(String afterId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return gpuRepository.findByIdGreaterThanOrderByIdAsc(afterId != null ? afterId : "", Limit.of(limit));
+    }
+
+    /**
+     * Pasa cada GPU de la tabla a {@code action}, en orden de id, sin cargar la tabla: el cursor trae las
+     * filas por bloques y el contexto de persistencia se vacía cada {@link #CLEAR_EVERY} entidades, así
+     * que el heap no crece con el número de filas. Las GPUs que recibe {@code action} quedan desligadas
+     * poco después; no se deben modificar. Devuelve cuántas se recorrieron.
+     */
     @Transactional(readOnly = true)
-    public List<Gpu> getAllGpus() {
-        return gpuRepository.findAll();
+    public long forEachGpu(Consumer<Gpu> action) {
+        long count = 0;
+        try (Stream<Gpu> gpus = gpuRepository.streamAllOrderById()) {
+            for (Iterator<Gpu> it = gpus.iterator(); it.hasNext(); ) {
+                action.accept(it.next());
+                if (++count % CLEAR_EVERY == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
     }
 }
@@ -0,0 +1,243 @@
+package GpuIndex.App.service;
+
+import GpuIndex.App.catalog.GpuCatalogLoader;
+import GpuIndex.App.model.Gpu;
+import GpuIndex.App.model.GpuFields;
+import GpuIndex.App.repository.GpuFullTextIndex;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Carga el catálogo JSON en la tabla {@code gpu} de gpus.db. El JSON se lee en streaming y se escribe
+ * con JDBC por lotes en transacciones grandes, con un upsert por id: volver a importar actualiza las
+ * filas existentes en vez de duplicarlas. Las columnas salen del mapeo de Hibernate de {@link Gpu},
+ * así que la tabla queda como la espera {@code GpuRepository}.
+ */
+@Service
+public class GpuImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GpuImportService.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int COMMIT_EVERY = 50_000;
+
+    public record ImportResult(String source, int rows, int skipped, long millis) {
+        public long rowsPerSecond() {
+            return millis > 0 ? rows * 1000L / millis : rows;
+        }
+    }
+
+    private record Column(String name, String property, String sqlType) {
+    }
+
+    // Tabla y columnas de Gpu según Hibernate (p. ej. l1CacheKb -> l1cache_kb)
+    private record Mapping(String table, String idColumn, List<Column> columns) {
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private GpuFullTextIndex fullTextIndex;
+
+    @Autowired
+    private DbService dbService;
+
+    private final GpuCatalogLoader catalogLoader = new GpuCatalogLoader(new ObjectMapper());
+
+    /** Al arrancar deja la tabla como la espera GpuRepository, aunque todavía no se haya importado nada. */
+    @PostConstruct
+    public void ensureSchema() {
+        try (Connection connection = dataSource.getConnection()) {
+            Mapping mapping = mapping();
+            ensureTable(connection, mapping.table(), mapping.idColumn(), mapping.columns());
+            fullTextIndex.ensureIndex();
+        } catch (SQLException e) {
+            logger.warn("No se pudo preparar la tabla de GPUs en gpus.db: {}", e.getMessage());
+        }
+    }
+
+    /** Importa {@code file}, o el catálogo configurado si es null. */
+    public ImportResult importCatalog(Path file) throws IOException {
+        if (file != null && !Files.isRegularFile(file)) {
+            throw new IOException("File not found: " + file);
+        }
+        String source = file != null ? file.toString() : dbService.getJsonCatalogSource();
+        try (InputStream inputStream = file != null
+                ? new BufferedInputStream(Files.newInputStream(file))
+                : dbService.openJsonCatalog()) {
+            return importCatalog(inputStream, source);
+        }
+    }
+
+    public ImportResult importCatalog(InputStream inputStream, String source) throws IOException {
+        long start = System.nanoTime();
+        Mapping mapping = mapping();
+        String table = mapping.table();
+        String idColumn = mapping.idColumn();
+        List<Column> columns = mapping.columns();
+
+        int rows = 0;
+        int skipped = 0;
+        try (Connection connection = dataSource.getConnection();
+             MappingIterator<Gpu> gpus = catalogLoader.iterate(inputStream)) {
+            ensureTable(connection, table, idColumn, columns);
+            fullTextIndex.ensureIndex();
+
+            try (Statement pragma = connection.createStatement()) {
+                String synchronous = pragmaValue(pragma, "synchronous");
+                String cacheSize = pragmaValue(pragma, "cache_size");
+                // WAL se queda en el fichero; synchronous=NORMAL con WAL no corrompe la base si se corta,
+                // como mucho pierde las últimas transacciones. Caché de 64 MB mientras dura la importación.
+                pragma.execute("PRAGMA journal_mode=WAL");
+                pragma.execute("PRAGMA synchronous=NORMAL");
+                pragma.execute("PRAGMA cache_size=-65536");
+                pragma.execute("PRAGMA temp_store=MEMORY");
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try (PreparedStatement upsert = connection.prepareStatement(upsertSql(table, idColumn, columns))) {
+                    int batched = 0;
+                    while (gpus.hasNextValue()) {
+                        Gpu gpu = gpus.nextValue();
+                        if (gpu.getId() == null || gpu.getId().isBlank()) {
+                            skipped++;
+                            continue;
+                        }
+                        upsert.setString(1, gpu.getId());
+                        for (int i = 0; i < columns.size(); i++) {
+                            upsert.setObject(i + 2, GpuFields.get(gpu, columns.get(i).property()));
+                        }
+                        upsert.addBatch();
+                        rows++;
+                        if (++batched == BATCH_SIZE) {
+                            upsert.executeBatch();
+                            batched = 0;
+                        }
+                        if (rows % COMMIT_EVERY == 0) {
+                            upsert.executeBatch();
+                            batched = 0;
+                            connection.commit();
+                        }
+                    }
+                    upsert.executeBatch();
+                    connection.commit();
+                } catch (SQLException | IOException | RuntimeException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                    pragma.execute("PRAGMA synchronous=" + synchronous);
+                    pragma.execute("PRAGMA cache_size=" + cacheSize);
+                }
+                // Pasa el WAL a gpus.db para que el fichero quede completo por sí solo
+                pragma.execute("PRAGMA wal_checkpoint(TRUNCATE)");
+            }
+        } catch (SQLException e) {
+            throw new IOException("Import into gpus.db failed after " + rows + " rows: " + e.getMessage(), e);
+        }
+
+        ImportResult result = new ImportResult(source, rows, skipped, (System.nanoTime() - start) / 1_000_000);
+        logger.info("Importadas {} GPUs de {} a gpus.db en {} ms ({} filas/s, {} sin id)",
+                result.rows(), source, result.millis(), result.rowsPerSecond(), result.skipped());
+        return result;
+    }
+
+    private Mapping mapping() {
+        AbstractEntityPersister persister = (AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class).getMappingMetamodel().getEntityDescriptor(Gpu.class);
+        return new Mapping(persister.getTableName(), persister.getIdentifierColumnNames()[0], columns(persister));
+    }
+
+    private static List<Column> columns(AbstractEntityPersister persister) {
+        List<Column> columns = new ArrayList<>();
+        String[] properties = persister.getPropertyNames();
+        for (int i = 0; i < properties.length; i++) {
+            Class<?> type = persister.getPropertyTypes()[i].getReturnedClass();
+            String sqlType = Integer.class.equals(type) ? "integer"
+                    : Double.class.equals(type) ? "float"
+                    : "varchar(255)";
+            columns.add(new Column(persister.getPropertyColumnNames(i)[0], properties[i], sqlType));
+        }
+        return columns;
+    }
+
+    // Crea la tabla si no existe y añade las columnas que falten (gpus.db puede venir de un esquema anterior)
+    private static void ensureTable(Connection connection, String table, String idColumn, List<Column> columns)
+            throws SQLException {
+        Set<String> existing = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet info = statement.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (info.next()) {
+                existing.add(info.getString("name").toLowerCase());
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            if (existing.isEmpty()) {
+                StringJoiner definition = new StringJoiner(", ", "CREATE TABLE " + table + " (", ")");
+                definition.add(idColumn + " varchar(255) not null");
+                for (Column column : columns) {
+                    definition.add(column.name() + " " + column.sqlType());
+                }
+                definition.add("primary key (" + idColumn + ")");
+                statement.execute(definition.toString());
+                logger.info("Tabla {} creada en gpus.db", table);
+                return;
+            }
+            for (Column column : columns) {
+                if (!existing.contains(column.name().toLowerCase())) {
+                    statement.execute("ALTER TABLE " + table + " ADD COLUMN " + column.name() + " " + column.sqlType());
+                    logger.info("Columna {}.{} añadida a gpus.db", table, column.name());
+                }
+            }
+        }
+    }
+
+    private static String upsertSql(String table, String idColumn, List<Column> columns) {
+        StringJoiner names = new StringJoiner(", ", "(", ")");
+        StringJoiner values = new StringJoiner(", ", "(", ")");
+        StringJoiner updates = new StringJoiner(", ");
+        names.add(idColumn);
+        values.add("?");
+        for (Column column : columns) {
+            names.add(column.name());
+            values.add("?");
+            updates.add(column.name() + " = excluded." + column.name());
+        }
+        return "INSERT INTO " + table + " " + names + " VALUES " + values
+                + " ON CONFLICT(" + idColumn + ") DO UPDATE SET " + updates;
+    }
+
+    private static String pragmaValue(Statement statement, String pragma) throws SQLException {
+        try (ResultSet result = statement.executeQuery("PRAGMA " + pragma)) {
+            return result.next() ? result.getString(1) : null;
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package GpuIndex.App.service;
 
+import GpuIndex.App.config.AppMetrics;
 import GpuIndex.App.model.Gpu;
 import GpuIndex.App.model.GpuList;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -20,6 +21,9 @@ public class GpuListService {
     @Autowired
     private DbService dbService;
 
+    @Autowired
+    private AppMetrics metrics;
+
     private final List<GpuList.GpuSummary> currentList = new ArrayList<>();
     private final int MAX_LIST_SIZE = 20;
 
@@ -61,16 +65,21 @@ public class GpuListService {
         // Crear nombre de archivo seguro
         String safeFileName = listName.replaceAll("[^a-zA-Z0-9]", "_");
 
-        if (format.equalsIgnoreCase("xlsx")) {
-            String fileName = createExcelFile(safeFileName, gpuList);
-            currentList.clear();
-            return "Excel file '" + listName + "' succesfully created. " +
-                    "File: " + fileName + " (" + gpuList.getGpus().size() + " GPUs)";
-        } else {
-            String fileName = createJsonFile(safeFileName, gpuList);
-            currentList.clear();
-            return "JSON list '" + listName + "' succesfully created. " +
-                    "File: " + fileName + " (" + gpuList.getGpus().size() + " GPUs)";
+        Timer.Sample sample = metrics.start();
+        try {
+            if (format.equalsIgnoreCase("xlsx")) {
+                String fileName = createExcelFile(safeFileName, gpuList);
+                currentList.clear();
+                return "Excel file '" + listName + "' succesfully created. " +
+                        "File: " + fileName + " (" + gpuList.getGpus().size() + " GPUs)";
+            } else {
+                String fileName = createJsonFile(safeFileName, gpuList);
+                currentList.clear();
+                return "JSON list '" + listName + "' succesfully created. " +
+                        "File: " + fileName + " (" + gpuList.getGpus().size() + " GPUs)";
+            }
+        } finally {
+            sample.stop(metrics.export("list", format.equalsIgnoreCase("xlsx") ? "xlsx" : "json"));
         }
     }
 
@@ -86,58 +95,44 @@ public class GpuListService {
 
     private String createExcelFile(String safeFileName, GpuList gpuList) throws IOException {
         String fileName = safeFileName + ".xlsx";
-
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("GPUs List");
-
+        String[] headers = {
+                "Name", "Shading Units", "TDP (W)",
+                "VRAM(GB)", "Memory Type", "Memory bus(bits)",
+                "Bandwith(GB/s)", "Performance FP32 (GFLOPs)",
+                "Base clock (MHz)", "Boost clock (MHz)"
+        };
+
+        try (XlsxSheetWriter xlsx = new XlsxSheetWriter("GPUs List", headers.length)) {
             // Crear estilo para el encabezado
-            CellStyle headerStyle = workbook.createCellStyle();
-            Font headerFont = workbook.createFont();
+            CellStyle headerStyle = xlsx.createStyle();
+            Font headerFont = xlsx.createFont();
             headerFont.setBold(true);
             headerStyle.setFont(headerFont);
             headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
             headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
 
             // Crear fila de encabezado
-            Row headerRow = sheet.createRow(0);
-            String[] headers = {
-                    "Name", "Shading Units", "TDP (W)",
-                    "VRAM(GB)", "Memory Type", "Memory bus(bits)",
-                    "Bandwith(GB/s)", "Performance FP32 (GFLOPs)",
-                    "Base clock (MHz)", "Boost clock (MHz)"
-            };
-
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
+            xlsx.header(headers, headerStyle);
 
             // Llenar datos
-            int rowNum = 1;
             for (GpuList.GpuSummary gpu : gpuList.getGpus()) {
-                Row row = sheet.createRow(rowNum++);
-
-                row.createCell(0).setCellValue(gpu.getName());
-                row.createCell(1).setCellValue(gpu.getShadingUnits() != null ? gpu.getShadingUnits() : 0);
-                row.createCell(2).setCellValue(gpu.getTdp() != null ? gpu.getTdp() : "N/A");
-                row.createCell(3).setCellValue(gpu.getMemorySize() != null ? gpu.getMemorySize() : 0);
-                row.createCell(4).setCellValue(gpu.getMemoryType() != null ? gpu.getMemoryType() : "N/A");
-                row.createCell(5).setCellValue(gpu.getMemoryBus() != null ? gpu.getMemoryBus() : 0);
-                row.createCell(6).setCellValue(gpu.getBandwidth() != null ? gpu.getBandwidth() : 0);
-                row.createCell(7).setCellValue(gpu.getFp32() != null ? gpu.getFp32() : 0);
-                row.createCell(8).setCellValue(gpu.getBaseClock() != null ? gpu.getBaseClock() : 0);
-                row.createCell(9).setCellValue(gpu.getBoostClock() != null ? gpu.getBoostClock() : 0);
-            }
-
-            // Autoajustar columnas
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
+                Row row = xlsx.row();
+
+                xlsx.cell(row, 0, gpu.getName(), null);
+                xlsx.cell(row, 1, gpu.getShadingUnits() != null ? gpu.getShadingUnits() : 0, null);
+                xlsx.cell(row, 2, gpu.getTdp() != null ? gpu.getTdp() : "N/A", null);
+                xlsx.cell(row, 3, gpu.getMemorySize() != null ? gpu.getMemorySize() : 0, null);
+                xlsx.cell(row, 4, gpu.getMemoryType() != null ? gpu.getMemoryType() : "N/A", null);
+                xlsx.cell(row, 5, gpu.getMemoryBus() != null ? gpu.getMemoryBus() : 0, null);
+                xlsx.cell(row, 6, gpu.getBandwidth() != null ? gpu.getBandwidth() : 0, null);
+                xlsx.cell(row, 7, gpu.getFp32() != null ? gpu.getFp32() : 0, null);
+                xlsx.cell(row, 8, gpu.getBaseClock() != null ? gpu.getBaseClock() : 0, null);
+                xlsx.cell(row, 9, gpu.getBoostClock() != null ? gpu.getBoostClock() : 0, null);
             }
 
             // Guardar archivo
             try (FileOutputStream outputStream = new FileOutputStream(fileName)) {
-                workbook.write(outputStream);
+                xlsx.write(outputStream);
             }
         }
 
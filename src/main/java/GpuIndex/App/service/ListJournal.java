@@ -0,0 +1,174 @@
+package GpuIndex.App.service;
+
+import GpuIndex.App.model.GpuList;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Diario de solo añadir de las listas guardadas: una línea JSON por operación, así que cada cambio
+ * cuesta una escritura pequeña en vez de reescribir la lista entera. {@link AdvancedListManager}
+ * lo compacta de vez en cuando en los ficheros {@code <lista>.json}.
+ *
+ * <p>Una compactación escribe primero los {@code .json.tmp} y luego añade un registro {@code commit};
+ * si el proceso muere a medias, al arrancar se termina (commit presente) o se descarta (sin commit).
+ */
+final class ListJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ListJournal.class);
+
+    static final String CREATE = "create";
+    static final String ADD = "add";
+    static final String REMOVE = "remove";
+    static final String CLEAR = "clear";
+    static final String RENAME = "rename";
+    static final String DELETE = "delete";
+    static final String COMMIT = "commit";
+
+    /**
+     * Una operación. {@code list} es la clave de la lista (en minúsculas), {@code name} el nombre con el
+     * que se guarda su fichero, {@code to} la clave nueva en un rename, {@code indices} las posiciones
+     * (base 0) a quitar en ese orden y {@code drop} los ficheros a borrar al confirmar una compactación.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Entry(String op, String list, String name, String to, GpuList.GpuSummary gpu,
+                 int[] indices, List<String> drop) {
+    }
+
+    static Entry create(String list, String name) {
+        return new Entry(CREATE, list, name, null, null, null, null);
+    }
+
+    static Entry add(String list, GpuList.GpuSummary gpu) {
+        return new Entry(ADD, list, null, null, gpu, null, null);
+    }
+
+    static Entry remove(String list, int... indices) {
+        return new Entry(REMOVE, list, null, null, null, indices, null);
+    }
+
+    static Entry clear(String list) {
+        return new Entry(CLEAR, list, null, null, null, null, null);
+    }
+
+    static Entry rename(String list, String to, String name) {
+        return new Entry(RENAME, list, name, to, null, null, null);
+    }
+
+    static Entry delete(String list) {
+        return new Entry(DELETE, list, null, null, null, null, null);
+    }
+
+    static Entry commit(List<String> drop) {
+        return new Entry(COMMIT, null, null, null, null, null, drop);
+    }
+
+    private final Path file;
+    private final ObjectMapper mapper;
+    private FileChannel channel;
+    private volatile int entries;
+
+    ListJournal(Path file, ObjectMapper mapper) {
+        this.file = file;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Lee el diario y lo deja abierto para añadir. Una última línea incompleta o ilegible (escritura
+     * cortada por un fallo) se descarta y se recorta del fichero.
+     */
+    List<Entry> open() throws IOException {
+        List<Entry> read = new ArrayList<>();
+        byte[] content = Files.isRegularFile(file) ? Files.readAllBytes(file) : new byte[0];
+        int valid = 0;
+        for (int start = 0; start < content.length; ) {
+            int end = indexOf(content, (byte) '\n', start);
+            if (end < 0) {
+                break;
+            }
+            if (end > start) {
+                try {
+                    read.add(mapper.readValue(content, start, end - start, Entry.class));
+                } catch (IOException e) {
+                    break;
+                }
+            }
+            start = end + 1;
+            valid = start;
+        }
+        if (valid < content.length) {
+            logger.warn("Diario de listas {}: se descartan {} bytes incompletos al final", file, content.length - valid);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(valid);
+        channel.position(valid);
+        entries = read.size();
+        return read;
+    }
+
+    /** Añade una operación al final; devuelve los bytes escritos. */
+    int append(Entry entry) throws IOException {
+        return append(List.of(entry));
+    }
+
+    /** Añade varias operaciones con una sola escritura; devuelve los bytes escritos. */
+    int append(List<Entry> batch) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream(batch.size() * 256);
+        for (Entry entry : batch) {
+            mapper.writeValue(lines, entry);
+            lines.write('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        entries += batch.size();
+        return lines.size();
+    }
+
+    /** Operaciones en el diario desde la última compactación. */
+    int size() {
+        return entries;
+    }
+
+    void sync() throws IOException {
+        channel.force(false);
+    }
+
+    /** Vacía el diario tras una compactación confirmada. */
+    void reset() throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+        entries = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null && channel.isOpen()) {
+            channel.force(true);
+            channel.close();
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte value, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
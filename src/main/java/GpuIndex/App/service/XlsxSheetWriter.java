@@ -0,0 +1,91 @@
+package GpuIndex.App.service;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Hoja XLSX en streaming (SXSSF): solo las últimas {@value #ROW_WINDOW} filas quedan en memoria y el
+ * resto va a un temporal comprimido. El ancho de cada columna sale de la longitud del texto escrito,
+ * sin autoSizeColumn (que mide cada celda con las fuentes de AWT).
+ */
+final class XlsxSheetWriter implements Closeable {
+
+    private static final int ROW_WINDOW = 100;
+    private static final int MAX_COLUMN_CHARS = 60;
+
+    private final SXSSFWorkbook workbook;
+    private final SXSSFSheet sheet;
+    private final int[] widths;
+    private int nextRow;
+
+    XlsxSheetWriter(String sheetName, int columns) {
+        this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+        this.sheet = workbook.createSheet(sheetName);
+        this.widths = new int[columns];
+    }
+
+    CellStyle createStyle() {
+        return workbook.createCellStyle();
+    }
+
+    Font createFont() {
+        return workbook.createFont();
+    }
+
+    /** Fila de encabezados; queda fija al desplazarse. */
+    void header(String[] headers, CellStyle style) {
+        Row row = row();
+        for (int column = 0; column < headers.length; column++) {
+            cell(row, column, headers[column], style);
+        }
+        sheet.createFreezePane(0, 1);
+    }
+
+    Row row() {
+        return sheet.createRow(nextRow++);
+    }
+
+    /** Texto, o número si {@code value} es un Number; null deja la celda vacía. */
+    void cell(Row row, int column, Object value, CellStyle style) {
+        Cell cell = row.createCell(column);
+        if (style != null) {
+            cell.setCellStyle(style);
+        }
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else {
+            cell.setCellValue(text);
+        }
+        if (text.length() > widths[column]) {
+            widths[column] = text.length();
+        }
+    }
+
+    void write(OutputStream out) throws IOException {
+        for (int column = 0; column < widths.length; column++) {
+            // Unidades de 1/256 de carácter, con margen para el filtro y la negrita del encabezado
+            sheet.setColumnWidth(column, Math.min(widths[column] + 3, MAX_COLUMN_CHARS) * 256);
+        }
+        workbook.write(out);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Borra los temporales de las filas volcadas a disco
+        workbook.dispose();
+        workbook.close();
+    }
+}
@@ -0,0 +1,55 @@
+package GpuIndex.App.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Sesiones por id de cliente, que caducan tras {@code gpu.sessions.ttl} sin usarse.
+ * La de la shell es única y no caduca.
+ */
+@Component
+public class SessionRegistry {
+
+    public static final String CLI_SESSION = "cli";
+    private static final int MAX_ID_LENGTH = 64;
+
+    private final UserSession cli = new UserSession(CLI_SESSION);
+    private final Cache<String, UserSession> sessions;
+
+    public SessionRegistry(@Value("${gpu.sessions.ttl:30m}") Duration ttl,
+                           @Value("${gpu.sessions.max:10000}") long maxSessions) {
+        this.sessions = Caffeine.newBuilder()
+                .expireAfterAccess(ttl)
+                .maximumSize(maxSessions)
+                .build();
+    }
+
+    public UserSession cli() {
+        return cli;
+    }
+
+    /**
+     * Sesión del cliente {@code id} (cabecera X-Client-Id del REST); se crea la primera vez y cada acceso
+     * renueva su caducidad. El id de la shell está reservado: un cliente no puede usar su sesión.
+     */
+    public UserSession get(String id) {
+        String clientId = id != null ? id.trim() : "";
+        if (clientId.isEmpty() || clientId.length() > MAX_ID_LENGTH) {
+            throw new IllegalArgumentException("Client id must be 1-" + MAX_ID_LENGTH + " characters");
+        }
+        if (CLI_SESSION.equalsIgnoreCase(clientId)) {
+            throw new IllegalArgumentException("Client id '" + clientId + "' is reserved");
+        }
+        return sessions.get(clientId, UserSession::new);
+    }
+
+    /** Sesiones vivas, contando la de la shell. */
+    public long activeSessions() {
+        sessions.cleanUp();
+        return sessions.estimatedSize() + 1;
+    }
+}
@@ -1,42 +1,81 @@
 package GpuIndex.App.session;
 
-import org.springframework.stereotype.Component;
-
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-@Component
+/**
+ * Estado de un cliente: última búsqueda y lista activa. Cada cliente tiene la suya
+ * ({@link SessionRegistry}); los métodos están sincronizados porque un mismo cliente puede
+ * lanzar peticiones en paralelo.
+ */
 public class UserSession {
+    private final String id;
     private List<Map<String, String>> lastSearchResults = new ArrayList<>();
     private String lastQuery = "";
+    // Cursor de la siguiente página de la última búsqueda (null si no hay más)
+    private String nextCursor;
+    // Lista activa (nombre tal como lo escribió el usuario); null si no hay ninguna
+    private String currentListName;
+
+    public UserSession(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    // Copia: quien la recorre no debe ver cambios de otra petición de la misma sesión
+    public synchronized List<Map<String, String>> getLastSearchResults() {
+        return List.copyOf(lastSearchResults);
+    }
 
-    public List<Map<String, String>> getLastSearchResults() {
-        return lastSearchResults;
+    public synchronized void setLastSearchResults(List<Map<String, String>> lastSearchResults) {
+        // Copia propia: los resultados pueden venir de la caché y clear() no debe vaciarla
+        this.lastSearchResults = new ArrayList<>(lastSearchResults);
+        this.nextCursor = null;
     }
 
-    public void setLastSearchResults(List<Map<String, String>> lastSearchResults) {
-        this.lastSearchResults = lastSearchResults;
+    public synchronized void appendSearchResults(List<Map<String, String>> moreResults) {
+        this.lastSearchResults.addAll(moreResults);
     }
 
-    public String getLastQuery() {
+    public synchronized String getNextCursor() {
+        return nextCursor;
+    }
+
+    public synchronized void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public synchronized String getLastQuery() {
         return lastQuery;
     }
 
-    public void setLastQuery(String lastQuery) {
+    public synchronized void setLastQuery(String lastQuery) {
         this.lastQuery = lastQuery;
     }
 
-    public void clear() {
+    public synchronized String getCurrentListName() {
+        return currentListName;
+    }
+
+    public synchronized void setCurrentListName(String currentListName) {
+        this.currentListName = currentListName;
+    }
+
+    public synchronized void clear() {
         this.lastSearchResults.clear();
         this.lastQuery = "";
+        this.nextCursor = null;
     }
 
-    public boolean hasSearchResults() {
+    public synchronized boolean hasSearchResults() {
         return !lastSearchResults.isEmpty();
     }
 
-    public int getSearchResultsSize() {
+    public synchronized int getSearchResultsSize() {
         return lastSearchResults.size();
     }
 }
@@ -3,7 +3,12 @@ package GpuIndex.App;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// Base de datos y listas aparte: al arrancar se migra el esquema (columnas, índice FTS5) y se compactan
+// las listas, y nada de eso debe tocar gpus.db ni saved_lists
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:sqlite:target/test-gpus.db",
+		"gpu.lists.dir=target/test-lists"
+})
 class GpuappApplicationTests {
 
 	@Test
@@ -0,0 +1,96 @@
+package GpuIndex.App.catalog;
+
+import GpuIndex.App.model.Gpu;
+import GpuIndex.App.model.GpuFields;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class GpuBinaryCatalogTest {
+
+    private static final GpuBinaryCatalog.Origin ORIGIN = new GpuBinaryCatalog.Origin(1234, 5678, "2013-01-01");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void mappedCatalogMatchesJsonCatalog() throws Exception {
+        CatalogSnapshot original = CatalogSnapshot.build(1, "test", syntheticGpus(500));
+        Path file = dir.resolve("gpu_database.bin");
+        GpuBinaryCatalog.write(original, ORIGIN, file);
+
+        CatalogSnapshot mapped = CatalogSnapshot.mapped(2, GpuBinaryCatalog.map(file));
+
+        assertEquals(original.size(), mapped.size());
+        for (int row = 0; row < original.size(); row++) {
+            for (String field : GpuFields.names()) {
+                assertEquals(GpuFields.get(original.gpu(row), field), GpuFields.get(mapped.gpu(row), field),
+                        "row " + row + ", " + field);
+            }
+            for (GpuMetric metric : GpuMetric.values()) {
+                assertEquals(original.columns().value(metric, row), mapped.columns().value(metric, row));
+            }
+        }
+        for (String query : new String[]{"rtx", "rx 10", "1007", " ti", "nothing"}) {
+            assertArrayEquals(original.searchIndex().search(query, 30), mapped.searchIndex().search(query, 30), query);
+        }
+        assertSame(mapped.gpu(7), mapped.gpu(7));
+        String name = original.gpu(42).getName();
+        assertEquals(original.lookupIndex().idOfName(name), mapped.lookupIndex().idOfName(name));
+    }
+
+    @Test
+    void eachCompileWritesANewGenerationAndKeepsTheMappedOne() throws Exception {
+        Path base = dir.resolve("gpu_database.bin");
+        assertNull(GpuBinaryCatalog.latestGeneration(base));
+
+        Path first = GpuBinaryCatalog.nextGeneration(base);
+        assertEquals(base, first);
+        GpuBinaryCatalog.write(CatalogSnapshot.build(1, "test", syntheticGpus(10)), ORIGIN, first);
+        GpuBinaryCatalog mapped = GpuBinaryCatalog.map(first);
+        assertEquals(ORIGIN, mapped.origin());
+
+        Path second = GpuBinaryCatalog.nextGeneration(base);
+        assertEquals(dir.resolve("gpu_database.1.bin"), second);
+        GpuBinaryCatalog.write(CatalogSnapshot.build(2, "test", syntheticGpus(20)), ORIGIN, second);
+        assertEquals(second, GpuBinaryCatalog.latestGeneration(base));
+
+        // La generación mapeada no se toca; el mapeo sigue leyendo el fichero anterior
+        assertEquals(0, GpuBinaryCatalog.deleteOlderGenerations(base, second, first));
+        assertEquals(10, mapped.size());
+        assertEquals(syntheticGpus(10).get(0).getName(), mapped.gpus().get(0).getName());
+        assertEquals(1, GpuBinaryCatalog.deleteOlderGenerations(base, second, null));
+        assertFalse(Files.exists(first));
+        assertEquals(dir.resolve("gpu_database.2.bin"), GpuBinaryCatalog.nextGeneration(base));
+    }
+
+    private static List<Gpu> syntheticGpus(int count) {
+        List<Gpu> gpus = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Gpu gpu = new Gpu();
+            gpu.setId("gpu-" + i);
+            gpu.setName((i % 2 == 0 ? "GeForce RTX " : "Radeon RX ") + (1000 + i * 7) + (i % 5 == 0 ? " Ti" : ""));
+            gpu.setManufacturer(i % 2 == 0 ? "NVIDIA" : "AMD");
+            gpu.setArchitecture(i % 3 == 0 ? null : "Arch ñ" + (i % 4));
+            gpu.setReleaseDate("20" + (14 + i % 10) + "-03-01");
+            gpu.setMemorySize(i % 7 == 0 ? null : 4.0 + i % 5 * 4);
+            gpu.setMemoryBus(i % 6 == 0 ? null : 128 + 64 * (i % 3));
+            gpu.setBandwidth(100.5 + i);
+            gpu.setBoostClock(1500 + i);
+            gpu.setSingleFloatPerformanceGflopS(i % 9 == 0 ? null : 1000.25 * i);
+            gpu.setTdp(i % 4 == 0 ? null : (100 + i) + " W");
+            gpus.add(gpu);
+        }
+        return gpus;
+    }
+}
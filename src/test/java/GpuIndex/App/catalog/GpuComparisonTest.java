@@ -0,0 +1,56 @@
+package GpuIndex.App.catalog;
+
+import GpuIndex.App.model.Gpu;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GpuComparisonTest {
+
+    @Test
+    void scoresEveryMetricAgainstBestAndWorst() {
+        GpuColumns columns = GpuColumns.build(List.of(
+                gpu("A", 10000.0, 500.0, 6),
+                gpu("B", 20000.0, null, 8),
+                gpu("C", 15000.0, 1000.0, 4)));
+
+        GpuComparison.Matrix matrix = GpuComparison.compare(3, columns, new int[]{2, 0, 1},
+                List.of("C", "A", "B"), List.of("missing"),
+                List.of(GpuMetric.FP32, GpuMetric.BANDWIDTH, GpuMetric.PROCESS_SIZE, GpuMetric.TENSOR_CORES));
+
+        // Sin dato en ninguna GPU: la métrica no sale
+        assertEquals(3, matrix.metrics().size());
+
+        GpuComparison.MetricRow fp32 = matrix.metrics().get(0);
+        assertEquals(20000.0, fp32.best());
+        assertEquals(10000.0, fp32.worst());
+        assertArrayEquals(new Double[]{50.0, 0.0, 100.0}, fp32.score());
+        assertArrayEquals(new Double[]{-25.0, -50.0, 0.0}, fp32.deltaPercent());
+
+        GpuComparison.MetricRow bandwidth = matrix.metrics().get(1);
+        assertArrayEquals(new Double[]{1000.0, 500.0, null}, bandwidth.values());
+        assertArrayEquals(new Double[]{100.0, 0.0, null}, bandwidth.score());
+
+        // Proceso: gana el más pequeño
+        GpuComparison.MetricRow process = matrix.metrics().get(2);
+        assertEquals(4.0, process.best());
+        assertArrayEquals(new Double[]{100.0, 50.0, 0.0}, process.score());
+        assertArrayEquals(new Double[]{0.0, 50.0, 100.0}, process.deltaPercent());
+
+        // Media de las métricas con dato: B no tiene ancho de banda
+        assertArrayEquals(new Double[]{250.0 / 3, 50.0 / 3, 50.0}, matrix.overall());
+        assertEquals(List.of("missing"), matrix.missing());
+    }
+
+    private static Gpu gpu(String name, Double fp32, Double bandwidth, Integer processNm) {
+        Gpu gpu = new Gpu();
+        gpu.setName(name);
+        gpu.setSingleFloatPerformanceGflopS(fp32);
+        gpu.setBandwidth(bandwidth);
+        gpu.setProcessSizeNm(processNm);
+        return gpu;
+    }
+}
@@ -0,0 +1,113 @@
+package GpuIndex.App.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GpuSearchIndexTest {
+
+    private static final String[] SERIES = {
+            "GeForce RTX", "GeForce GTX", "Radeon RX", "Radeon Pro", "Arc A", "Quadro RTX"
+    };
+    private static final String[] SUFFIXES = {"", " Ti", " SUPER", " XT", " XTX", " Mobile", " 8 GB", " 16 GB"};
+
+    @Test
+    void searchMatchesLinearScan() {
+        List<String> names = syntheticNames(3000);
+        GpuSearchIndex index = GpuSearchIndex.build(names);
+
+        String[] queries = {
+                "", "r", "rt", "rtx", "rtx 40", "rtx 4060", "4060 ti", "rx 7600 xt", "radeon rx 6",
+                "geforce rtx 3080 ti", "x 7", " 16 gb", "mobile", "pro 5", "nothing like this", "a7"
+        };
+        for (String query : queries) {
+            for (int limit : new int[]{1, 30, Integer.MAX_VALUE}) {
+                assertArrayEquals(scan(names, query, limit), index.search(query, limit), "query '" + query + "'");
+            }
+        }
+    }
+
+    @Test
+    void namesAreLowercasedIndependentlyOfTheDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            // En turco "I" pasa a "ı" sin punto; la consulta llega normalizada con Locale.ROOT
+            GpuSearchIndex index = GpuSearchIndex.build(List.of("GeForce RTX 4060 Ti", "INTEL Arc A770"));
+            assertArrayEquals(new int[]{0}, index.search("4060 ti", 10));
+            assertArrayEquals(new int[]{1}, index.search("intel", 10));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void rankedPagesFollowRelevanceOrder() {
+        List<String> names = syntheticNames(3000);
+        names.add("rtx 4060");
+        names.add("RTX 4060 Laptop");
+        names.sort(null);
+        GpuSearchIndex index = GpuSearchIndex.build(names);
+
+        for (String query : new String[]{"", "rt", "rtx 4060", "4060", "radeon rx 6", "x 7", "nothing like this"}) {
+            List<Integer> expected = IntStream.range(0, names.size())
+                    .filter(i -> names.get(i).toLowerCase().contains(query))
+                    .boxed()
+                    .sorted(Comparator.comparingInt((Integer i) -> query.isEmpty() ? 0 : tier(names.get(i).toLowerCase(), query))
+                            .thenComparingInt(i -> query.isEmpty() ? 0 : names.get(i).length())
+                            .thenComparingInt(i -> i))
+                    .toList();
+
+            List<Integer> paged = new ArrayList<>();
+            long after = -1;
+            GpuSearchIndex.Page page;
+            do {
+                page = index.searchRanked(query, 30, after);
+                assertEquals(expected.size(), page.total(), "query '" + query + "'");
+                for (int id : page.ids()) {
+                    paged.add(id);
+                }
+                after = page.next();
+            } while (page.hasMore());
+            assertEquals(expected, paged, "query '" + query + "'");
+        }
+        assertEquals("rtx 4060", names.get(index.searchRanked("rtx 4060", 1, -1).ids()[0]));
+    }
+
+    private static int tier(String name, String query) {
+        if (name.equals(query)) {
+            return 0;
+        }
+        if (name.startsWith(query)) {
+            return 1;
+        }
+        return name.contains(" " + query) ? 2 : 3;
+    }
+
+    private static int[] scan(List<String> names, String query, int limit) {
+        return IntStream.range(0, names.size())
+                .filter(i -> names.get(i).toLowerCase().contains(query))
+                .limit(limit)
+                .toArray();
+    }
+
+    private static List<String> syntheticNames(int count) {
+        Random random = new Random(42);
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String series = SERIES[random.nextInt(SERIES.length)];
+            int model = 1000 + random.nextInt(90) * 100 + random.nextInt(2) * 50;
+            names.add(series + " " + model + SUFFIXES[random.nextInt(SUFFIXES.length)]);
+        }
+        names.sort(null);
+        return names;
+    }
+}
@@ -0,0 +1,120 @@
+package GpuIndex.App.catalog;
+
+import GpuIndex.App.model.Gpu;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GpuSimilarityIndexTest {
+
+    @Test
+    void findsTheSameNeighborsAsAFullScan() {
+        Random random = new Random(42);
+        List<Gpu> gpus = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Gpu gpu = new Gpu();
+            gpu.setName("GPU " + i);
+            gpu.setSingleFloatPerformanceGflopS(100 + random.nextDouble() * 80000);
+            gpu.setBandwidth(random.nextInt(10) == 0 ? null : 10 + random.nextDouble() * 3000);
+            gpu.setMemorySize(Math.pow(2, random.nextInt(7)) + random.nextDouble());
+            gpu.setMemoryBus(64 + random.nextInt(4000));
+            gpu.setTdp(random.nextInt(5) == 0 ? null : (20 + random.nextInt(600)) + " W");
+            gpu.setReleaseDate((2005 + random.nextInt(20)) + "-0" + (1 + random.nextInt(9)) + "-1" + random.nextInt(10));
+            gpus.add(gpu);
+        }
+        GpuColumns columns = GpuColumns.build(gpus);
+        GpuSimilarityIndex index = GpuSimilarityIndex.build(columns);
+        float[] points = normalize(columns);
+
+        for (int query = 0; query < gpus.size(); query += 37) {
+            int row = query;
+            List<GpuSimilarityIndex.Neighbor> nearest = index.nearest(row, 10);
+            assertEquals(10, nearest.size());
+            int[] expected = bruteForce(points, row, 10);
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], nearest.get(i).row(), "row " + row + ", neighbor " + i);
+            }
+            assertTrue(nearest.stream().noneMatch(neighbor -> neighbor.row() == row));
+        }
+    }
+
+    @Test
+    void leavesOutGpusWithTooFewSpecs() {
+        List<Gpu> gpus = List.of(gpu("A", 10000.0, 500.0, "2020-01-01"), gpu("B", 11000.0, 550.0, "2021-01-01"),
+                gpu("C", 12000.0, null, null), gpu("D", 30000.0, 1500.0, "2024-01-01"));
+
+        GpuSimilarityIndex index = GpuSimilarityIndex.build(GpuColumns.build(gpus));
+
+        assertEquals(3, index.size());
+        assertEquals(List.of(1, 3), index.nearest(0, 5).stream().map(GpuSimilarityIndex.Neighbor::row).toList());
+        // Sin datos suficientes no sale como resultado, pero se puede consultar
+        assertEquals(3, index.nearest(2, 5).size());
+    }
+
+    // La misma normalización que el índice, hecha aparte para comparar con un recorrido completo
+    private static float[] normalize(GpuColumns columns) {
+        int dimensions = GpuSimilarityIndex.FEATURES.size();
+        float[] points = new float[columns.size() * dimensions];
+        for (int d = 0; d < dimensions; d++) {
+            GpuMetric metric = GpuSimilarityIndex.FEATURES.get(d);
+            double[] values = new double[columns.size()];
+            double sum = 0;
+            int count = 0;
+            for (int row = 0; row < columns.size(); row++) {
+                double value = columns.value(metric, row);
+                values[row] = metric == GpuMetric.RELEASE_YEAR ? value : Math.log(value);
+                if (!Double.isNaN(values[row])) {
+                    sum += values[row];
+                    count++;
+                }
+            }
+            double mean = sum / count;
+            double squares = 0;
+            for (double value : values) {
+                if (!Double.isNaN(value)) {
+                    squares += (value - mean) * (value - mean);
+                }
+            }
+            double deviation = Math.sqrt(squares / count);
+            for (int row = 0; row < columns.size(); row++) {
+                points[row * dimensions + d] = Double.isNaN(values[row]) ? 0f
+                        : (float) ((values[row] - mean) / deviation);
+            }
+        }
+        return points;
+    }
+
+    private static int[] bruteForce(float[] points, int query, int k) {
+        int dimensions = GpuSimilarityIndex.FEATURES.size();
+        int size = points.length / dimensions;
+        double[] distances = new double[size];
+        Integer[] order = new Integer[size];
+        for (int row = 0; row < size; row++) {
+            double distance = 0;
+            for (int d = 0; d < dimensions; d++) {
+                double difference = points[query * dimensions + d] - points[row * dimensions + d];
+                distance += difference * difference;
+            }
+            distances[row] = distance;
+            order[row] = row;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(row -> distances[row]));
+        return Arrays.stream(order).filter(row -> row != query).limit(k).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static Gpu gpu(String name, Double fp32, Double bandwidth, String releaseDate) {
+        Gpu gpu = new Gpu();
+        gpu.setName(name);
+        gpu.setSingleFloatPerformanceGflopS(fp32);
+        gpu.setBandwidth(bandwidth);
+        gpu.setReleaseDate(releaseDate);
+        return gpu;
+    }
+}
@@ -0,0 +1,70 @@
+package GpuIndex.App.catalog;
+
+import GpuIndex.App.model.Gpu;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GpuSpecParserTest {
+
+    @Test
+    void parsesPowerWithUnitsAndRanges() {
+        assertEquals(115, GpuSpecParser.watts("115 W"));
+        assertEquals(115, GpuSpecParser.watts("115W"));
+        assertEquals(450, GpuSpecParser.watts("450"));
+        assertEquals(300, GpuSpecParser.watts("0.3 kW"));
+        assertEquals(500, GpuSpecParser.watts("0,5 kW"));
+        assertEquals(1000, GpuSpecParser.watts("1,000 W"));
+        assertEquals(150, GpuSpecParser.watts("75-150 W"));
+        assertTrue(Double.isNaN(GpuSpecParser.watts(null)));
+        assertTrue(Double.isNaN(GpuSpecParser.watts("unknown")));
+        assertTrue(Double.isNaN(GpuSpecParser.watts("0 W")));
+    }
+
+    @Test
+    void parsesSlotWidth() {
+        assertEquals(1, GpuSpecParser.slots("Single-slot"));
+        assertEquals(2, GpuSpecParser.slots("Dual-slot"));
+        assertEquals(3, GpuSpecParser.slots("Triple-slot"));
+        assertEquals(2.5, GpuSpecParser.slots("2.5-slot"));
+        assertTrue(Double.isNaN(GpuSpecParser.slots("IGP")));
+        assertTrue(Double.isNaN(GpuSpecParser.slots("MXM Module")));
+    }
+
+    @Test
+    void derivedMetricsAreColumnsSortedBestFirst() {
+        Gpu efficient = gpu("Efficient", 20000.0, "100 W");
+        Gpu hungry = gpu("Hungry", 30000.0, "450 W");
+        Gpu unknown = gpu("Unknown", 25000.0, "N/A");
+        GpuColumns columns = GpuColumns.build(List.of(efficient, hungry, unknown));
+
+        assertEquals(200, columns.value(GpuMetric.FP32_PER_WATT, 0));
+        assertTrue(Double.isNaN(columns.value(GpuMetric.TDP, 2)));
+        // Más GFLOPs/W primero; el consumo gana cuanto más bajo; sin dato, al final
+        assertArrayEquals(new int[]{0, 1, 2}, columns.best(new int[]{0, 1, 2}, GpuMetric.FP32_PER_WATT, 3));
+        assertArrayEquals(new int[]{0, 1}, columns.best(new int[]{2, 1, 0}, GpuMetric.TDP, 2));
+        assertArrayEquals(new int[]{1, 2}, columns.best(new int[]{0, 1, 2}, GpuMetric.FP32, 2));
+    }
+
+    @Test
+    void bestOrdersValuesThatOnlyDifferBelowFloatPrecision() {
+        // 100000001 y 100000003 son el mismo float; el orden tiene que salir del double, no del id
+        GpuColumns columns = GpuColumns.build(List.of(
+                gpu("A", 100000001.0, "N/A"), gpu("B", 100000003.0, "N/A"), gpu("C", 100000002.0, "N/A"),
+                gpu("D", 1e40, "N/A"), gpu("E", 2e40, "N/A")));
+
+        assertArrayEquals(new int[]{4, 3, 1, 2, 0}, columns.best(new int[]{0, 1, 2, 3, 4}, GpuMetric.FP32, 5));
+    }
+
+    private static Gpu gpu(String name, Double fp32, String tdp) {
+        Gpu gpu = new Gpu();
+        gpu.setName(name);
+        gpu.setSingleFloatPerformanceGflopS(fp32);
+        gpu.setTdp(tdp);
+        return gpu;
+    }
+}
@@ -0,0 +1,56 @@
+package GpuIndex.App.controller;
+
+import GpuIndex.App.model.Gpu;
+import GpuIndex.App.service.AccessHistory;
+import GpuIndex.App.service.DbService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GpuControllerTest {
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Gpu gpu = new Gpu();
+        gpu.setName("GeForce RTX 4090");
+        gpu.setManufacturer("NVIDIA");
+        gpu.setMemorySize(24.0);
+        DbService dbService = mock(DbService.class);
+        when(dbService.getGpuDetails("GeForce RTX 4090")).thenReturn(gpu);
+
+        GpuController controller = new GpuController();
+        ReflectionTestUtils.setField(controller, "dbService", dbService);
+        ReflectionTestUtils.setField(controller, "accessHistory", mock(AccessHistory.class));
+        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void fieldsReturnsExactlyTheRequestedKeys() throws Exception {
+        mvc.perform(get("/api/gpus/details").param("name", "GeForce RTX 4090")
+                        .param("fields", "name,memorySize,thermal_design_power_w"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", aMapWithSize(3)))
+                .andExpect(jsonPath("$.name").value("GeForce RTX 4090"))
+                .andExpect(jsonPath("$.memory_size_gb").value(24.0))
+                .andExpect(jsonPath("$.thermal_design_power_w").isEmpty());
+    }
+
+    @Test
+    void unknownFieldIsABadRequest() throws Exception {
+        mvc.perform(get("/api/gpus/details").param("name", "GeForce RTX 4090").param("fields", "name,vram"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Unknown field: 'vram'"));
+    }
+}
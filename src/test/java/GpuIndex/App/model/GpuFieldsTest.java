@@ -0,0 +1,64 @@
+package GpuIndex.App.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GpuFieldsTest {
+
+    @Test
+    void findsFieldsByNameAndByJsonAlias() {
+        Gpu gpu = gpu();
+
+        assertEquals(24.0, GpuFields.get(gpu, "memorySize"));
+        assertEquals(24.0, GpuFields.get(gpu, "memory_size_gb"));
+        assertEquals(24.0, GpuFields.get(gpu, " Memory_Size_GB "));
+        assertEquals("GeForce RTX 4090", GpuFields.get(gpu, "name"));
+        assertEquals(82580.0, GpuFields.get(gpu, "fp32"));
+        assertEquals(82580.0, GpuFields.get(gpu, "single_float_performance_gflop_s"));
+        assertTrue(GpuFields.exists("thermal_design_power_w"));
+        assertTrue(GpuFields.names().contains("memory_bandwidth_gb_s"));
+    }
+
+    @Test
+    void projectionRejectsUnknownFields() {
+        assertFalse(GpuFields.exists("vram"));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> GpuFields.projection("name, vram"));
+        assertEquals("Unknown field: 'vram'", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> GpuFields.projection(List.of("memory_size")));
+    }
+
+    @Test
+    void projectionKeepsTheRequestedOrderAndNullValues() {
+        Gpu gpu = gpu();
+        GpuFields.Projection projection = GpuFields.projection("memory_size_gb,tdp,name,memorySize");
+
+        // Alias repetidos del mismo campo cuentan una vez; las claves son los nombres JSON
+        assertEquals(List.of("memory_size_gb", "thermal_design_power_w", "name"), projection.names());
+        assertEquals(3, projection.size());
+        assertEquals(24.0, projection.value(gpu, 0));
+        assertNull(projection.value(gpu, 1));
+        assertEquals("GeForce RTX 4090", projection.value(gpu, 2));
+
+        Map<String, Object> values = projection.apply(gpu);
+        assertEquals(List.of("memory_size_gb", "thermal_design_power_w", "name"), List.copyOf(values.keySet()));
+        assertTrue(values.containsKey("thermal_design_power_w"));
+        assertNull(values.get("thermal_design_power_w"));
+    }
+
+    private static Gpu gpu() {
+        Gpu gpu = new Gpu();
+        gpu.setName("GeForce RTX 4090");
+        gpu.setMemorySize(24.0);
+        gpu.setSingleFloatPerformanceGflopS(82580.0);
+        return gpu;
+    }
+}
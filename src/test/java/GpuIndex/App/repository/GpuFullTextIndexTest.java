@@ -0,0 +1,60 @@
+package GpuIndex.App.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GpuFullTextIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void indexFollowsTableAndRanksByRelevance() {
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource("jdbc:sqlite:" + dir.resolve("gpus.db"), true);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE gpu (id varchar(255) not null, name varchar(255), manufacturer varchar(255), primary key (id))");
+        jdbc.update("INSERT INTO gpu VALUES ('1', 'GeForce RTX 4090', 'NVIDIA')");
+        jdbc.update("INSERT INTO gpu VALUES ('2', 'Radeon RX 7900 XTX', 'AMD')");
+
+        GpuFullTextIndex index = new GpuFullTextIndex();
+        ReflectionTestUtils.setField(index, "jdbc", jdbc);
+        // Filas anteriores al índice: entran con el rebuild inicial
+        index.ensureIndex();
+        assertEquals(List.of("GeForce RTX 4090"), search(jdbc, "rtx 40"));
+
+        // Después, los triggers
+        jdbc.update("INSERT INTO gpu VALUES ('3', 'GeForce RTX 4080', 'NVIDIA')");
+        jdbc.update("UPDATE gpu SET name = 'Radeon RX 7900 XT' WHERE id = '2'");
+        jdbc.update("DELETE FROM gpu WHERE id = '1'");
+        assertEquals(List.of("GeForce RTX 4080"), search(jdbc, "geforce"));
+        assertEquals(List.of("Radeon RX 7900 XT"), search(jdbc, "7900"));
+        assertEquals(List.of(), search(jdbc, "xtx"));
+
+        // El nombre pesa más que el fabricante
+        jdbc.update("INSERT INTO gpu VALUES ('4', 'Quadro AMD Edition', 'NVIDIA')");
+        assertEquals(List.of("Quadro AMD Edition", "Radeon RX 7900 XT"), search(jdbc, "amd"));
+
+        dataSource.destroy();
+    }
+
+    @Test
+    void matchQueryQuotesEveryTerm() {
+        assertEquals("\"rtx\"* \"4090\"* \"ti\"*", GpuFullTextIndex.matchQuery("RTX-4090 Ti"));
+        assertEquals("\"a\"* \"or\"* \"near\"*", GpuFullTextIndex.matchQuery("a\" OR NEAR("));
+        assertNull(GpuFullTextIndex.matchQuery(" -*- "));
+    }
+
+    private static List<String> search(JdbcTemplate jdbc, String query) {
+        return jdbc.queryForList("SELECT g.name FROM gpu_fts JOIN gpu g ON g.rowid = gpu_fts.rowid "
+                + "WHERE gpu_fts MATCH ? ORDER BY bm25(gpu_fts, 10.0, 1.0)", String.class, GpuFullTextIndex.matchQuery(query));
+    }
+}
@@ -0,0 +1,171 @@
+package GpuIndex.App.service;
+
+import GpuIndex.App.config.AppMetrics;
+import GpuIndex.App.model.Gpu;
+import GpuIndex.App.session.UserSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AdvancedListManagerConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ADDS = 100;
+    private static final int REMOVES = 40;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void concurrentSessionsDoNotLoseUpdates() throws Exception {
+        String shared = "concurrency";
+        DbService dbService = mock(DbService.class);
+        when(dbService.getGpuDetails(anyString())).thenAnswer(call -> {
+            Gpu gpu = new Gpu();
+            gpu.setName(call.getArgument(0));
+            return gpu;
+        });
+        AppMetrics metrics = new AppMetrics(new SimpleMeterRegistry());
+
+        AdvancedListManager manager = newManager(dir, dbService, metrics);
+        UserSession owner = new UserSession("owner");
+        manager.createList(owner, shared);
+
+        // Cada hilo es un cliente distinto que añade y quita sobre la misma lista
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> tasks = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int client = t;
+                tasks.add(pool.submit(() -> {
+                    UserSession session = new UserSession("client-" + client);
+                    manager.switchList(session, shared);
+                    start.await();
+                    for (int i = 0; i < ADDS; i++) {
+                        manager.addToCurrentList(session, "GPU " + client + "-" + i);
+                        if (i < REMOVES) {
+                            manager.removeGpuFromList(session, 1);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        int expected = THREADS * (ADDS - REMOVES);
+        assertEquals(1000 - expected, manager.getRemainingSlots(owner));
+
+        // Tras cerrar, lo que quede en disco y en el diario debe reconstruir la misma lista
+        manager.close();
+        AdvancedListManager reopened = newManager(dir, dbService, metrics);
+        try {
+            UserSession session = new UserSession("check");
+            // El recuento sale de lists.index, sin leer la lista
+            assertTrue(reopened.listAllLists(session).contains(shared + ": " + expected + " GPUs"));
+            reopened.switchList(session, shared);
+            assertEquals(1000 - expected, reopened.getRemainingSlots(session));
+
+            // Un borrado desde otra sesión deja sin lista activa a la que la usaba
+            assertTrue(reopened.deleteList(new UserSession("other"), shared).contains("deleted"));
+            assertFalse(reopened.hasCurrentList(session));
+            assertNull(session.getCurrentListName());
+        } finally {
+            reopened.deleteList(owner, shared);
+            reopened.close();
+        }
+    }
+
+    @Test
+    void rejectsListNamesThatAreNotPlainFileNames() throws Exception {
+        AdvancedListManager manager = newManager(dir.resolve("lists"), mock(DbService.class),
+                new AppMetrics(new SimpleMeterRegistry()));
+        UserSession session = new UserSession("hostile");
+        try {
+            for (String name : List.of("../../x", "a/b", "a\\b", "..", "tab\tname", "")) {
+                assertThrows(IllegalArgumentException.class, () -> manager.createList(session, name), name);
+            }
+            manager.createList(session, "Gaming 2024");
+            assertThrows(IllegalArgumentException.class, () -> manager.renameList(session, "Gaming 2024", "../x"));
+
+            assertEquals(1, manager.sync());
+            assertTrue(Files.isRegularFile(dir.resolve("lists").resolve("Gaming 2024.json")));
+            assertFalse(Files.exists(dir.resolve("x.json")));
+        } finally {
+            manager.close();
+        }
+    }
+
+    @Test
+    void aListThatCannotBeWrittenDoesNotBlockTheOthers() throws Exception {
+        DbService dbService = mock(DbService.class);
+        when(dbService.getGpuDetails(anyString())).thenAnswer(call -> {
+            Gpu gpu = new Gpu();
+            gpu.setName(call.getArgument(0));
+            return gpu;
+        });
+        AppMetrics metrics = new AppMetrics(new SimpleMeterRegistry());
+        AdvancedListManager manager = newManager(dir, dbService, metrics);
+        UserSession session = new UserSession("writer");
+        manager.createList(session, "good");
+        manager.addToCurrentList(session, "GPU 1");
+        manager.createList(session, "stuck");
+        manager.addToCurrentList(session, "GPU 2");
+        // Un directorio donde iría el .tmp hace que esa lista no se pueda escribir (la compactación lo quita)
+        Files.createDirectory(dir.resolve("stuck.json.tmp"));
+
+        IOException failure = assertThrows(IOException.class, manager::sync);
+        assertTrue(failure.getMessage().contains("stuck"));
+        assertTrue(Files.isRegularFile(dir.resolve("good.json")));
+        assertFalse(Files.exists(dir.resolve("stuck.json")));
+
+        // La que falló sigue en el diario y se escribe en la siguiente compactación, al cerrar
+        manager.close();
+        AdvancedListManager reopened = newManager(dir, dbService, metrics);
+        try {
+            assertTrue(Files.isRegularFile(dir.resolve("stuck.json")));
+            UserSession check = new UserSession("check");
+            reopened.switchList(check, "stuck");
+            assertEquals(999, reopened.getRemainingSlots(check));
+            reopened.switchList(check, "good");
+            assertEquals(999, reopened.getRemainingSlots(check));
+        } finally {
+            reopened.close();
+        }
+    }
+
+    private static AdvancedListManager newManager(Path dir, DbService dbService, AppMetrics metrics) {
+        AdvancedListManager manager = new AdvancedListManager();
+        ReflectionTestUtils.setField(manager, "listsDirectory", dir.toString());
+        ReflectionTestUtils.setField(manager, "dbService", dbService);
+        ReflectionTestUtils.setField(manager, "metrics", metrics);
+        manager.init();
+        return manager;
+    }
+}
@@ -0,0 +1,139 @@
+package GpuIndex.App.service;
+
+import GpuIndex.App.catalog.CatalogSnapshot;
+import GpuIndex.App.catalog.GpuColumns;
+import GpuIndex.App.catalog.GpuComparison;
+import GpuIndex.App.catalog.GpuMetric;
+import GpuIndex.App.model.Gpu;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GpuComparisonServiceTest {
+
+    private Locale defaultLocale;
+
+    // Los decimales salen con el Locale por defecto: se fija para que el texto esperado no dependa de la máquina
+    @BeforeEach
+    void fixLocale() {
+        defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.ROOT);
+    }
+
+    @AfterEach
+    void restoreLocale() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    void rendersThePairInBothOrders() {
+        CatalogSnapshot catalog = CatalogSnapshot.build(1, "test", List.of(rtx4090(), rx6600()));
+        GpuComparisonService.PairReport pair = GpuComparisonService.buildPairReport(catalog, 0, 1);
+
+        // El nombre largo se corta a 23 + ".."; sin arquitectura ni TDP sale N/A, y sin TDP tampoco hay FP32 por vatio
+        assertEquals(report(
+                "══════════════════════════ COMPARACIÓN DE GPUs ══════════════════════════",
+                "ESPECIFICACIÓN            NVIDIA GeForce RTX 4090.. Radeon RX 6600           ",
+                "───────────────────────────────────────────────────────────────────────────",
+                "Arquitectura              Ada Lovelace             N/A                     ",
+                "Frec. Base (MHz)          2235                     1626                    ",
+                "Frec. Boost (MHz)         2520                     2491                    ",
+                "Memoria (GB)              24.0                     8.0                     ",
+                "Tipo de Memoria           GDDR6X                   GDDR6                   ",
+                "Bus Memoria (bits)        384                      128                     ",
+                "Ancho de Banda (GB/s)     1008.0                   224.0                   ",
+                "Unid. Sombreado           16384                    1792                    ",
+                "Rendimiento FP32 (GFLOPs) 82580.00                 8930.00                 ",
+                "TDP (W)                   450                      N/A                     ",
+                "PSU Sugerida (W)          850                      450                     ",
+                "FP32 por vatio (GFLOPs/W) 183.5                    N/A                     ",
+                "═══════════════════════════════════════════════════════════════════════════"),
+                GpuComparisonService.renderPair(pair, 0, 1));
+        assertEquals(report(
+                "══════════════════════════ COMPARACIÓN DE GPUs ══════════════════════════",
+                "ESPECIFICACIÓN            Radeon RX 6600            NVIDIA GeForce RTX 4090..",
+                "───────────────────────────────────────────────────────────────────────────",
+                "Arquitectura              N/A                      Ada Lovelace            ",
+                "Frec. Base (MHz)          1626                     2235                    ",
+                "Frec. Boost (MHz)         2491                     2520                    ",
+                "Memoria (GB)              8.0                      24.0                    ",
+                "Tipo de Memoria           GDDR6                    GDDR6X                  ",
+                "Bus Memoria (bits)        128                      384                     ",
+                "Ancho de Banda (GB/s)     224.0                    1008.0                  ",
+                "Unid. Sombreado           1792                     16384                   ",
+                "Rendimiento FP32 (GFLOPs) 8930.00                  82580.00                ",
+                "TDP (W)                   N/A                      450                     ",
+                "PSU Sugerida (W)          450                      850                     ",
+                "FP32 por vatio (GFLOPs/W) N/A                      183.5                   ",
+                "═══════════════════════════════════════════════════════════════════════════"),
+                GpuComparisonService.renderPair(pair, 1, 0));
+    }
+
+    @Test
+    void marksBestOnlyWhenSomeGpuFallsBehind() {
+        Gpu a = new Gpu();
+        a.setName("A");
+        a.setTensorCores(0);
+        a.setProcessSizeNm(0);
+        Gpu b = new Gpu();
+        b.setName("B");
+        b.setProcessSizeNm(5);
+        Gpu c = new Gpu();
+        c.setName("C");
+        c.setTensorCores(0);
+        GpuComparison.Matrix matrix = GpuComparison.compare(1, GpuColumns.build(List.of(a, b, c)),
+                new int[]{0, 1, 2}, List.of("A", "B", "C"), List.of(),
+                List.of(GpuMetric.TENSOR_CORES, GpuMetric.PROCESS_SIZE));
+
+        // Con la mejor en 0 no hay porcentaje para las demás
+        assertArrayEquals(new Double[]{0.0, null, 0.0}, matrix.metrics().get(0).deltaPercent());
+        assertArrayEquals(new Double[]{0.0, null, null}, matrix.metrics().get(1).deltaPercent());
+
+        String[] lines = new GpuComparisonService().renderMatrix("zeros", matrix).split("\n");
+        assertEquals(String.format("%-4s %-28s %6s %18s %18s", "1", "A", "100.0", "0", "0 (best)"), lines[4]);
+        assertEquals(String.format("%-4s %-28s %6s %18s %18s", "2", "C", "100.0", "0", "N/A"), lines[5]);
+        assertEquals(String.format("%-4s %-28s %6s %18s %18s", "3", "B", "0.0", "N/A", "5"), lines[6]);
+    }
+
+    private static String report(String... lines) {
+        return String.join("\n", lines) + "\n";
+    }
+
+    private static Gpu rtx4090() {
+        Gpu gpu = new Gpu();
+        gpu.setName("NVIDIA GeForce RTX 4090 Founders Edition");
+        gpu.setArchitecture("Ada Lovelace");
+        gpu.setBaseClock(2235);
+        gpu.setBoostClock(2520);
+        gpu.setMemorySize(24.0);
+        gpu.setMemoryType("GDDR6X");
+        gpu.setMemoryBus(384);
+        gpu.setBandwidth(1008.0);
+        gpu.setShadingUnits(16384);
+        gpu.setSingleFloatPerformanceGflopS(82580.0);
+        gpu.setTdp("450 W");
+        gpu.setSuggestedPsu("850 W");
+        return gpu;
+    }
+
+    private static Gpu rx6600() {
+        Gpu gpu = new Gpu();
+        gpu.setName("Radeon RX 6600");
+        gpu.setBaseClock(1626);
+        gpu.setBoostClock(2491);
+        gpu.setMemorySize(8.0);
+        gpu.setMemoryType("GDDR6");
+        gpu.setMemoryBus(128);
+        gpu.setBandwidth(224.0);
+        gpu.setShadingUnits(1792);
+        gpu.setSingleFloatPerformanceGflopS(8930.0);
+        gpu.setSuggestedPsu("450 W");
+        return gpu;
+    }
+}
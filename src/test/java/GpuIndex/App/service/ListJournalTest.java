@@ -0,0 +1,58 @@
+package GpuIndex.App.service;
+
+import GpuIndex.App.model.GpuList;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ListJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reopenReplaysEntriesAndDropsTornTail() throws Exception {
+        Path file = dir.resolve("lists.journal");
+        ObjectMapper mapper = new ObjectMapper();
+        GpuList.GpuSummary gpu = new GpuList.GpuSummary();
+        gpu.setName("Radeon RX 6600");
+        gpu.setMemorySize(8.0);
+
+        try (ListJournal journal = new ListJournal(file, mapper)) {
+            assertTrue(journal.open().isEmpty());
+            journal.append(ListJournal.create("mine", "Mine"));
+            journal.append(ListJournal.add("mine", gpu));
+            journal.append(ListJournal.remove("mine", 3, 1));
+        }
+        long intact = Files.size(file);
+        // Escritura cortada a mitad de línea
+        Files.write(file, "{\"op\":\"add\",\"list\":\"mi".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        try (ListJournal journal = new ListJournal(file, mapper)) {
+            List<ListJournal.Entry> entries = journal.open();
+            assertEquals(3, entries.size());
+            assertEquals(ListJournal.CREATE, entries.get(0).op());
+            assertEquals("Mine", entries.get(0).name());
+            assertEquals("Radeon RX 6600", entries.get(1).gpu().getName());
+            assertEquals(8.0, entries.get(1).gpu().getMemorySize());
+            assertArrayEquals(new int[]{3, 1}, entries.get(2).indices());
+            assertEquals(intact, Files.size(file));
+
+            journal.append(ListJournal.delete("mine"));
+            assertEquals(4, journal.size());
+            journal.reset();
+            assertEquals(0, journal.size());
+        }
+        assertEquals(0, Files.size(file));
+    }
+}